@@ -0,0 +1,74 @@
+package benchmarks;
+
+import gui.Cell;
+import gui.Controller;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller.mark in both phases of the game. Marking changes the game for good, so each iteration
+ * starts from a fresh game with the given number of marked cells and measures a fixed batch of marks.
+ * The allocation reported by -prof gc includes the setup of the iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 50, batchSize = ControllerMarkBenchmark.BATCH)
+@Measurement(iterations = 100, batchSize = ControllerMarkBenchmark.BATCH)
+@Fork(1)
+public class ControllerMarkBenchmark {
+
+    static final int BATCH = 256;
+
+    @Param({"hash", "bitset"})
+    private String impl;
+
+    @Param({"1024", "4096"})
+    private int gridSize;
+
+    @Param({"16", "1024"})
+    private int marked;
+
+    private Controller placing;
+    private Controller moving;
+    private long[] cells;
+    private int next;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        this.cells = Lattices.bottomLeft(this.marked + BATCH, this.gridSize);
+        this.placing = Controllers.create(this.impl, this.gridSize);
+        this.moving = Controllers.create(this.impl, this.gridSize);
+        for (int i = 0; i < this.marked; i++) {
+            this.placing.mark(new Cell(this.cells[i]));
+            this.moving.mark(new Cell(this.cells[i]));
+        }
+        this.moving.mark(Cell.of(Cell.x(this.cells[0]) + 1, Cell.y(this.cells[0])));
+        this.next = this.marked;
+    }
+
+    /*
+     * A cell not adjacent to the others, which includes the adjacency check.
+     */
+    @Benchmark
+    public void placementPhase() {
+        this.placing.mark(new Cell(this.cells[this.next++]));
+    }
+
+    @Benchmark
+    public void movePhase() {
+        this.moving.mark(Cell.of(0, 0));
+    }
+}
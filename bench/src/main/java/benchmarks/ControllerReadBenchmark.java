@@ -0,0 +1,63 @@
+package benchmarks;
+
+import gui.Cell;
+import gui.Controller;
+import gui.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading the marked cells of a game, once they started moving.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ControllerReadBenchmark {
+
+    @Param({"hash", "bitset"})
+    private String impl;
+
+    @Param({"1024", "4096"})
+    private int gridSize;
+
+    @Param({"16", "1024"})
+    private int marked;
+
+    private Controller controller;
+
+    @Setup
+    public void setUp() {
+        final long[] cells = Lattices.bottomLeft(this.marked, this.gridSize);
+        this.controller = Controllers.create(this.impl, this.gridSize);
+        for (final long cell : cells) {
+            this.controller.mark(new Cell(cell));
+        }
+        this.controller.mark(Cell.of(Cell.x(cells[0]) + 1, Cell.y(cells[0])));
+    }
+
+    @Benchmark
+    public Map<Pair<Integer, Integer>, Integer> getMarkedCells() {
+        return this.controller.getMarkedCells();
+    }
+
+    @Benchmark
+    public void forEachMarked(final Blackhole blackhole) {
+        this.controller.forEachMarked((x, y, counter) -> blackhole.consume(x + y + counter));
+    }
+}
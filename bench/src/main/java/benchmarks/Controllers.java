@@ -0,0 +1,22 @@
+package benchmarks;
+
+import gui.BitsetController;
+import gui.Controller;
+import gui.ControllerImpl;
+import gui.logger.Logger;
+
+/*
+ * The implementations under measure, selected by the "impl" parameter of the benchmarks.
+ */
+final class Controllers {
+
+    private Controllers() {}
+
+    static Controller create(String impl, int gridSize) {
+        return switch (impl) {
+            case "hash" -> new ControllerImpl(gridSize, Logger.none());
+            case "bitset" -> new BitsetController(gridSize, Logger.none());
+            default -> throw new IllegalArgumentException("Unknown controller " + impl);
+        };
+    }
+}
@@ -0,0 +1,99 @@
+package benchmarks;
+
+import devices.ConcurrentRandomFailing;
+import devices.FailingPolicy;
+import devices.RandomFailing;
+import devices.StandardDevice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The device operations, with a policy that never fails, and the random policy alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeviceBenchmark {
+
+    private static final class NeverFailing implements FailingPolicy {
+        @Override
+        public boolean attemptOn() {
+            return true;
+        }
+
+        @Override
+        public void reset() {}
+
+        @Override
+        public String policyName() {
+            return "never";
+        }
+    }
+
+    private StandardDevice device;
+    private RandomFailing random;
+    private ConcurrentRandomFailing concurrentRandom;
+
+    @Setup
+    public void setUp() {
+        this.device = new StandardDevice(new NeverFailing());
+        this.random = new RandomFailing();
+        this.concurrentRandom = new ConcurrentRandomFailing();
+    }
+
+    @Benchmark
+    public boolean on() {
+        this.device.on();
+        return this.device.isOn();
+    }
+
+    @Benchmark
+    public boolean tryOn() {
+        return this.device.tryOn();
+    }
+
+    @Benchmark
+    public boolean off() {
+        this.device.off();
+        return this.device.isOn();
+    }
+
+    @Benchmark
+    public boolean reset() {
+        this.device.reset();
+        return this.device.isOn();
+    }
+
+    /*
+     * Once failed the policy stays failed, so this is mostly the path of a failed policy.
+     */
+    @Benchmark
+    public boolean randomAttemptOn() {
+        return this.random.attemptOn();
+    }
+
+    @Benchmark
+    public boolean randomAttemptOnAfterReset() {
+        this.random.reset();
+        return this.random.attemptOn();
+    }
+
+    @Benchmark
+    public boolean concurrentRandomAttemptOnAfterReset() {
+        this.concurrentRandom.reset();
+        return this.concurrentRandom.attemptOn();
+    }
+}
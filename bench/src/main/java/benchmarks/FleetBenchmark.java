@@ -0,0 +1,67 @@
+package benchmarks;
+
+import devices.ConcurrentRandomFailing;
+import devices.Device;
+import devices.DeviceFleet;
+import devices.FleetResult;
+import devices.StandardDevice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk operations on a fleet, with a growing number of workers to check how they scale.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FleetBenchmark {
+
+    @Param({"1000000"})
+    private int devices;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private ForkJoinPool pool;
+    private DeviceFleet fleet;
+
+    @Setup
+    public void setUp() {
+        final List<Device> fleetDevices = new ArrayList<>(this.devices);
+        for (int i = 0; i < this.devices; i++) {
+            fleetDevices.add(new StandardDevice(new ConcurrentRandomFailing(i)));
+        }
+        this.pool = new ForkJoinPool(this.parallelism);
+        this.fleet = new DeviceFleet(fleetDevices, this.pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public FleetResult onThenReset() {
+        final FleetResult result = this.fleet.on();
+        this.fleet.reset();
+        return result;
+    }
+}
@@ -0,0 +1,24 @@
+package benchmarks;
+
+import gui.Cell;
+
+/*
+ * Cells two apart in both directions, filling a square in the bottom-left corner of the grid,
+ * so that none of them is adjacent to another and the moves can go on for most of the grid.
+ */
+final class Lattices {
+
+    private Lattices() {}
+
+    static long[] bottomLeft(int count, int gridSize) {
+        final int side = (int) Math.ceil(Math.sqrt(count));
+        if (2 * side > gridSize) {
+            throw new IllegalArgumentException(count + " cells don't fit a grid of size " + gridSize);
+        }
+        final long[] cells = new long[count];
+        for (int i = 0; i < count; i++) {
+            cells[i] = Cell.pack(2 * (i % side), gridSize - 1 - 2 * (i / side));
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,54 @@
+package devices;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A random failing policy that can be shared by many threads: once failed it stays failed until reset,
+ * and the failure is visible to all of them.
+ * Without a seed every thread draws from its own ThreadLocalRandom, so there is no shared state to contend on;
+ * with a seed the draws come from a generator of this policy alone, and are reproducible.
+ */
+public class ConcurrentRandomFailing implements FailingPolicy {
+    private final SplittableRandom seeded;
+    private volatile boolean failed = false;
+
+    public ConcurrentRandomFailing() {
+        this.seeded = null;
+    }
+
+    public ConcurrentRandomFailing(long seed) {
+        this.seeded = new SplittableRandom(seed);
+    }
+
+    @Override
+    public boolean attemptOn() {
+        if (this.failed) {
+            return false;
+        }
+        if (nextFailure()) {
+            this.failed = true;
+            return false;
+        }
+        return true;
+    }
+
+    private boolean nextFailure() {
+        if (this.seeded == null) {
+            return ThreadLocalRandom.current().nextBoolean();
+        }
+        synchronized (this.seeded) {
+            return this.seeded.nextBoolean();
+        }
+    }
+
+    @Override
+    public void reset() {
+        this.failed = false;
+    }
+
+    @Override
+    public String policyName() {
+        return "random";
+    }
+}
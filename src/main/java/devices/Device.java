@@ -2,6 +2,20 @@ package devices;
 
 public interface Device {
     void on() throws IllegalStateException;
+
+    /**
+     * Switch the device on, without throwing if it fails
+     * @return true if the device is now on
+     */
+    default boolean tryOn() {
+        try {
+            on();
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
     void off();
     boolean isOn();
     void reset();
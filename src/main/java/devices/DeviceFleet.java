@@ -0,0 +1,110 @@
+package devices;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A fixed set of devices, operated in bulk on a fork-join pool.
+ * The devices are split in chunks of whole 64-bit words of the result, so every task writes its own words
+ * and the result needs no synchronization. Each device should be used by one chunk only, since a device
+ * is not thread-safe.
+ */
+public class DeviceFleet {
+    static final int CHUNK = 64 * 64;
+
+    private final Device[] devices;
+    private final ForkJoinPool pool;
+
+    public DeviceFleet(List<? extends Device> devices) {
+        this(devices, ForkJoinPool.commonPool());
+    }
+
+    public DeviceFleet(List<? extends Device> devices, ForkJoinPool pool) {
+        this.devices = devices.toArray(new Device[0]);
+        for (final Device device : this.devices) {
+            Objects.requireNonNull(device);
+        }
+        this.pool = Objects.requireNonNull(pool);
+    }
+
+    public int size() {
+        return this.devices.length;
+    }
+
+    public Device device(int index) {
+        return this.devices[index];
+    }
+
+    /**
+     * Switch on every device: the ones whose policy fails stay off, and are reported
+     * @return which devices are on and which failed
+     */
+    public FleetResult on() {
+        final long[] on = new long[words()];
+        final long[] failed = new long[words()];
+        run((from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (this.devices[i].tryOn()) {
+                    on[i >>> 6] |= 1L << i;
+                } else {
+                    failed[i >>> 6] |= 1L << i;
+                }
+            }
+        });
+        return new FleetResult(this.devices.length, on, failed);
+    }
+
+    public void off() {
+        run((from, to) -> {
+            for (int i = from; i < to; i++) {
+                this.devices[i].off();
+            }
+        });
+    }
+
+    public void reset() {
+        run((from, to) -> {
+            for (int i = from; i < to; i++) {
+                this.devices[i].reset();
+            }
+        });
+    }
+
+    private int words() {
+        return (this.devices.length + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    private interface RangeAction {
+        void apply(int from, int to);
+    }
+
+    private void run(RangeAction action) {
+        this.pool.invoke(new Chunk(action, 0, this.devices.length));
+    }
+
+    private static final class Chunk extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient RangeAction action;
+        private final int from;
+        private final int to;
+
+        private Chunk(RangeAction action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= CHUNK) {
+                this.action.apply(this.from, this.to);
+                return;
+            }
+            final int middle = this.from + Math.max(CHUNK, (this.to - this.from) / 2 / CHUNK * CHUNK);
+            invokeAll(new Chunk(this.action, this.from, middle), new Chunk(this.action, middle, this.to));
+        }
+    }
+}
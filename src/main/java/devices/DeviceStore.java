@@ -0,0 +1,233 @@
+package devices;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Many devices kept by columns: their on and failed states are bitsets, and each of them fails when switched on
+ * with a probability, the same for all unless set for a single device.
+ * A failed device stays failed until reset, like a StandardDevice with a random policy.
+ * Devices are reached through lightweight views; like a StandardDevice, the store is not thread-safe.
+ */
+public class DeviceStore {
+    private final int size;
+    private final long[] on;
+    private final long[] failed;
+    private final float failureProbability;
+    private float[] failureProbabilities;
+    private final SplittableRandom random;
+
+    public DeviceStore(int size, double failureProbability) {
+        this(size, failureProbability, new SplittableRandom());
+    }
+
+    public DeviceStore(int size, double failureProbability, long seed) {
+        this(size, failureProbability, new SplittableRandom(seed));
+    }
+
+    private DeviceStore(int size, double failureProbability, SplittableRandom random) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Negative number of devices: " + size);
+        }
+        this.size = size;
+        this.on = new long[(size + Long.SIZE - 1) / Long.SIZE];
+        this.failed = new long[this.on.length];
+        this.failureProbability = checkProbability(failureProbability);
+        this.random = random;
+    }
+
+    private static float checkProbability(double probability) {
+        if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("Not a probability: " + probability);
+        }
+        return (float) probability;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Give a device its own failure probability; the first call allocates a probability for every device
+     */
+    public void setFailureProbability(int device, double probability) {
+        checkIndex(device);
+        final float checked = checkProbability(probability);
+        if (this.failureProbabilities == null) {
+            this.failureProbabilities = new float[this.size];
+            Arrays.fill(this.failureProbabilities, this.failureProbability);
+        }
+        this.failureProbabilities[device] = checked;
+    }
+
+    public double failureProbability(int device) {
+        checkIndex(device);
+        return this.failureProbabilities == null ? this.failureProbability : this.failureProbabilities[device];
+    }
+
+    /**
+     * @return a view of a device of the store, sharing its state
+     */
+    public Device device(int index) {
+        checkIndex(index);
+        return new DeviceView(index);
+    }
+
+    public boolean tryOn(int device) {
+        checkIndex(device);
+        return attemptOn(device);
+    }
+
+    public void off(int device) {
+        checkIndex(device);
+        clear(this.on, device);
+    }
+
+    public boolean isOn(int device) {
+        checkIndex(device);
+        return isSet(this.on, device);
+    }
+
+    public boolean hasFailed(int device) {
+        checkIndex(device);
+        return isSet(this.failed, device);
+    }
+
+    public void reset(int device) {
+        checkIndex(device);
+        clear(this.on, device);
+        clear(this.failed, device);
+    }
+
+    /**
+     * Switch on every device that is not on yet
+     * @return which devices are on and which failed
+     */
+    public FleetResult onAll() {
+        for (int word = 0; word < this.on.length; word++) {
+            final int from = word * Long.SIZE;
+            final int to = Math.min(from + Long.SIZE, this.size);
+            long off = ~this.on[word];
+            while (off != 0) {
+                final int device = from + Long.numberOfTrailingZeros(off);
+                if (device >= to) {
+                    break;
+                }
+                attemptOn(device);
+                off &= off - 1;
+            }
+        }
+        return new FleetResult(this.size, this.on.clone(), this.failed.clone());
+    }
+
+    public void offAll() {
+        Arrays.fill(this.on, 0);
+    }
+
+    public void resetAll() {
+        Arrays.fill(this.on, 0);
+        Arrays.fill(this.failed, 0);
+    }
+
+    /*
+     * Failed devices are off, so resetting them only clears their failure.
+     */
+    public void resetAllFailed() {
+        Arrays.fill(this.failed, 0);
+    }
+
+    public int countOn() {
+        return count(this.on);
+    }
+
+    public int countFailed() {
+        return count(this.failed);
+    }
+
+    /*
+     * A device already on stays on without drawing again, so that failed devices are always off.
+     */
+    private boolean attemptOn(int device) {
+        if (isSet(this.on, device)) {
+            return true;
+        }
+        if (isSet(this.failed, device)) {
+            return false;
+        }
+        final float probability = this.failureProbabilities == null
+                ? this.failureProbability
+                : this.failureProbabilities[device];
+        if (probability > 0 && this.random.nextFloat() < probability) {
+            this.failed[device >>> 6] |= 1L << device;
+            return false;
+        }
+        this.on[device >>> 6] |= 1L << device;
+        return true;
+    }
+
+    private void checkIndex(int device) {
+        if (device < 0 || device >= this.size) {
+            throw new IndexOutOfBoundsException(device);
+        }
+    }
+
+    private static boolean isSet(long[] bits, int device) {
+        return (bits[device >>> 6] & (1L << device)) != 0;
+    }
+
+    private static void clear(long[] bits, int device) {
+        bits[device >>> 6] &= ~(1L << device);
+    }
+
+    private static int count(long[] bits) {
+        int count = 0;
+        for (final long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private final class DeviceView implements Device {
+        private final int index;
+
+        private DeviceView(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void on() throws IllegalStateException {
+            if (!this.tryOn()) {
+                throw new IllegalStateException();
+            }
+        }
+
+        @Override
+        public boolean tryOn() {
+            return attemptOn(this.index);
+        }
+
+        @Override
+        public void off() {
+            clear(on, this.index);
+        }
+
+        @Override
+        public boolean isOn() {
+            return isSet(on, this.index);
+        }
+
+        @Override
+        public void reset() {
+            clear(on, this.index);
+            clear(failed, this.index);
+        }
+
+        @Override
+        public String toString() {
+            return "StoredDevice{" +
+                    "index=" + index +
+                    ", on=" + isOn() +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package devices;
+
+import java.util.Arrays;
+
+/**
+ * The failures of the first attempts of a policy, precomputed either as a bitmap or as the starts of the runs
+ * of equal outcomes, whichever is smaller. Attempts past the precomputed ones are asked to the policy.
+ */
+public final class FailureSchedule extends ScheduledFailing {
+    private final ScheduledFailing source;
+    private final int length;
+    private final long[] bitmap;
+    private final int[] runStarts;
+    private final boolean firstRunFails;
+
+    private FailureSchedule(ScheduledFailing source, int length, long[] bitmap, int[] runStarts, boolean firstRunFails) {
+        this.source = source;
+        this.length = length;
+        this.bitmap = bitmap;
+        this.runStarts = runStarts;
+        this.firstRunFails = firstRunFails;
+    }
+
+    static FailureSchedule of(ScheduledFailing source, int attempts) {
+        if (attempts < 0) {
+            throw new IllegalArgumentException("Negative number of attempts: " + attempts);
+        }
+        final long[] bitmap = new long[(attempts + Long.SIZE - 1) / Long.SIZE];
+        int runs = 0;
+        for (int i = 0; i < attempts; i++) {
+            final boolean fails = source.failsAt(i);
+            if (fails) {
+                bitmap[i >>> 6] |= 1L << i;
+            }
+            if (i == 0 || fails != isSet(bitmap, i - 1)) {
+                runs++;
+            }
+        }
+        final boolean firstRunFails = attempts > 0 && isSet(bitmap, 0);
+        if ((long) runs * Integer.BYTES >= (long) bitmap.length * Long.BYTES) {
+            return new FailureSchedule(source, attempts, bitmap, null, firstRunFails);
+        }
+        final int[] runStarts = new int[runs];
+        int run = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (i == 0 || isSet(bitmap, i) != isSet(bitmap, i - 1)) {
+                runStarts[run++] = i;
+            }
+        }
+        return new FailureSchedule(source, attempts, null, runStarts, firstRunFails);
+    }
+
+    /**
+     * @return how many attempts are precomputed
+     */
+    public int length() {
+        return this.length;
+    }
+
+    public boolean isRunLength() {
+        return this.runStarts != null;
+    }
+
+    @Override
+    public boolean failsAt(long attempt) {
+        if (attempt < 0 || attempt >= this.length) {
+            return this.source.failsAt(attempt);
+        }
+        if (this.bitmap != null) {
+            return isSet(this.bitmap, (int) attempt);
+        }
+        final int found = Arrays.binarySearch(this.runStarts, (int) attempt);
+        final int run = found >= 0 ? found : -found - 2;
+        return this.firstRunFails == (run % 2 == 0);
+    }
+
+    @Override
+    public FailureSchedule schedule(int attempts) {
+        return attempts == this.length ? this : this.source.schedule(attempts);
+    }
+
+    @Override
+    public String policyName() {
+        return "schedule(" + this.source.policyName() + ")";
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+}
@@ -0,0 +1,70 @@
+package devices;
+
+import java.util.BitSet;
+
+/**
+ * The outcome of switching on a fleet: which devices are on, and which failed, by their index in the fleet.
+ */
+public final class FleetResult {
+    private final int size;
+    private final long[] on;
+    private final long[] failed;
+
+    FleetResult(int size, long[] on, long[] failed) {
+        this.size = size;
+        this.on = on;
+        this.failed = failed;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isOn(int device) {
+        return isSet(this.on, device);
+    }
+
+    public boolean hasFailed(int device) {
+        return isSet(this.failed, device);
+    }
+
+    public int onCount() {
+        return count(this.on);
+    }
+
+    public int failedCount() {
+        return count(this.failed);
+    }
+
+    public BitSet switchedOn() {
+        return BitSet.valueOf(this.on);
+    }
+
+    public BitSet failures() {
+        return BitSet.valueOf(this.failed);
+    }
+
+    private boolean isSet(long[] bits, int device) {
+        if (device < 0 || device >= this.size) {
+            throw new IndexOutOfBoundsException(device);
+        }
+        return (bits[device >>> 6] & (1L << device)) != 0;
+    }
+
+    private static int count(long[] bits) {
+        int count = 0;
+        for (final long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "FleetResult{" +
+                "size=" + size +
+                ", on=" + onCount() +
+                ", failed=" + failedCount() +
+                '}';
+    }
+}
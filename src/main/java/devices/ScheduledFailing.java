@@ -0,0 +1,169 @@
+package devices;
+
+/**
+ * A failing policy that decides from the index of the attempt alone whether it fails, so that its failures
+ * can be combined, precomputed and replayed exactly. The policy keeps a cursor on the next attempt,
+ * which reset moves back to the first one.
+ */
+public abstract class ScheduledFailing implements FailingPolicy {
+    private long attempt = 0;
+
+    /**
+     * @param attempt the index of an attempt, from 0
+     * @return true if that attempt fails
+     */
+    public abstract boolean failsAt(long attempt);
+
+    @Override
+    public boolean attemptOn() {
+        return !failsAt(this.attempt++);
+    }
+
+    @Override
+    public void reset() {
+        this.attempt = 0;
+    }
+
+    /**
+     * @return the index of the next attempt
+     */
+    public long attempt() {
+        return this.attempt;
+    }
+
+    /**
+     * @return a policy failing when both this and the other policy fail
+     */
+    public ScheduledFailing and(ScheduledFailing other) {
+        return new Composite(this, other, true);
+    }
+
+    /**
+     * @return a policy failing when either this or the other policy fails
+     */
+    public ScheduledFailing or(ScheduledFailing other) {
+        return new Composite(this, other, false);
+    }
+
+    /**
+     * Precompute the failures of the first attempts of this policy
+     * @param attempts how many attempts to precompute
+     */
+    public FailureSchedule schedule(int attempts) {
+        return FailureSchedule.of(this, attempts);
+    }
+
+    /**
+     * @return a policy failing from the given attempt on
+     */
+    public static ScheduledFailing after(long attempts) {
+        if (attempts < 0) {
+            throw new IllegalArgumentException("Negative number of attempts: " + attempts);
+        }
+        return new ScheduledFailing() {
+            @Override
+            public boolean failsAt(long attempt) {
+                return attempt >= attempts;
+            }
+
+            @Override
+            public String policyName() {
+                return "after-" + attempts;
+            }
+        };
+    }
+
+    /**
+     * @return a policy failing every k attempts, from the k-th one
+     */
+    public static ScheduledFailing every(long k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("Not a period: " + k);
+        }
+        return new ScheduledFailing() {
+            @Override
+            public boolean failsAt(long attempt) {
+                return (attempt + 1) % k == 0;
+            }
+
+            @Override
+            public String policyName() {
+                return "every-" + k;
+            }
+        };
+    }
+
+    /**
+     * @return a policy failing on the attempts from the first index, included, to the last one, excluded
+     */
+    public static ScheduledFailing attemptWindow(long from, long to) {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("Not an attempt window: [" + from + ", " + to + ")");
+        }
+        return new ScheduledFailing() {
+            @Override
+            public boolean failsAt(long attempt) {
+                return attempt >= from && attempt < to;
+            }
+
+            @Override
+            public String policyName() {
+                return "attempt-window-[" + from + "," + to + ")";
+            }
+        };
+    }
+
+    /**
+     * Each attempt fails with the given probability, drawn from a hash of the seed and of the attempt index,
+     * so the same seed always fails on the same attempts
+     */
+    public static ScheduledFailing withProbability(double probability, long seed) {
+        if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("Not a probability: " + probability);
+        }
+        return new ScheduledFailing() {
+            @Override
+            public boolean failsAt(long attempt) {
+                return (mix(seed + attempt * 0x9E3779B97F4A7C15L) >>> 11) * 0x1.0p-53 < probability;
+            }
+
+            @Override
+            public String policyName() {
+                return "probability-" + probability;
+            }
+        };
+    }
+
+    /*
+     * The finalizer of SplittableRandom, spreading consecutive inputs over all the bits.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Composite extends ScheduledFailing {
+        private final ScheduledFailing left;
+        private final ScheduledFailing right;
+        private final boolean both;
+
+        private Composite(ScheduledFailing left, ScheduledFailing right, boolean both) {
+            this.left = left;
+            this.right = right;
+            this.both = both;
+        }
+
+        @Override
+        public boolean failsAt(long attempt) {
+            return this.both
+                    ? this.left.failsAt(attempt) && this.right.failsAt(attempt)
+                    : this.left.failsAt(attempt) || this.right.failsAt(attempt);
+        }
+
+        @Override
+        public String policyName() {
+            return "(" + left.policyName() + (both ? " and " : " or ") + right.policyName() + ")";
+        }
+    }
+}
@@ -13,10 +13,18 @@ public class StandardDevice implements Device {
 
     @Override
     public void on() throws IllegalStateException {
-        if (!this.failingPolicy.attemptOn()){
+        if (!this.tryOn()){
             throw new IllegalStateException();
         }
+    }
+
+    @Override
+    public boolean tryOn() {
+        if (!this.failingPolicy.attemptOn()){
+            return false;
+        }
         this.on = true;
+        return true;
     }
 
     @Override
@@ -0,0 +1,47 @@
+package gui;
+
+import gui.logger.EventSink;
+import gui.logger.LogLevel;
+import gui.logger.Logger;
+
+/**
+ * A Controller that keeps the marked cells in a bitset over the grid, with a parallel array for the counters.
+ * Huge grids start with a sparse store of tiles allocated on demand, which is replaced by a dense one
+ * once it would take more memory.
+ */
+public class BitsetController extends GridController {
+
+    /*
+     * Grids with up to this many cells (about 4 MB of counters) are dense from the start.
+     */
+    static final long DENSE_CELLS = 1L << 20;
+
+    public BitsetController(int gridSize, Logger logger) {
+        this(gridSize, logger, EventSink.none());
+    }
+
+    /**
+     * @param gridSize the size of the grid
+     * @param logger the logger of the game
+     * @param events the sink recording the events of the game
+     */
+    public BitsetController(int gridSize, Logger logger, EventSink events) {
+        super(gridSize, logger, events,
+                size -> (long) size * size <= DENSE_CELLS ? new DenseGridStore(size) : new SparseGridStore());
+    }
+
+    @Override
+    void afterPlacement() {
+        if (this.isSparse() && DenseGridStore.fits(gridSize())
+                && store().memoryBytes() > DenseGridStore.memoryBytes(gridSize())) {
+            final GridStore dense = new DenseGridStore(gridSize());
+            store().forEach(dense::put);
+            replaceStore(dense);
+            logger().log(LogLevel.DEBUG, "Switched to dense storage after {} cells", dense.size());
+        }
+    }
+
+    boolean isSparse() {
+        return store() instanceof SparseGridStore;
+    }
+}
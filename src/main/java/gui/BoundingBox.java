@@ -0,0 +1,41 @@
+package gui;
+
+/*
+ * The smallest rectangle, bounds included, containing a set of cells.
+ */
+public record BoundingBox(int minX, int minY, int maxX, int maxY) {
+
+    public BoundingBox {
+        if (minX > maxX || minY > maxY) {
+            throw new IllegalArgumentException("Empty bounding box");
+        }
+    }
+
+    public int width() {
+        return maxX - minX + 1;
+    }
+
+    public int height() {
+        return maxY - minY + 1;
+    }
+
+    /**
+     * Check if the whole box lies inside a square grid
+     * @param gridSize the size of the grid
+     * @return true if every cell of the box is inside the grid
+     */
+    public boolean isInside(int gridSize) {
+        return minX >= 0 && minY >= 0 && maxX < gridSize && maxY < gridSize;
+    }
+
+    /**
+     * @return this box extended to contain the given cell
+     */
+    public BoundingBox include(int x, int y) {
+        return new BoundingBox(Math.min(minX, x), Math.min(minY, y), Math.max(maxX, x), Math.max(maxY, y));
+    }
+
+    public BoundingBox translate(int dx, int dy) {
+        return new BoundingBox(minX + dx, minY + dy, maxX + dx, maxY + dy);
+    }
+}
@@ -0,0 +1,89 @@
+package gui;
+
+import javax.swing.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+ * A View painting the whole grid on a single scrollable component instead of one JButton per cell,
+ * so that boards with thousands of cells per side stay usable.
+ */
+public class CanvasGUI extends JFrame implements View {
+
+    private static final long serialVersionUID = -2871943517502362410L;
+    private static final int CELL_SIZE = 24;
+    private static final int MAX_WINDOW_SIZE = 800;
+
+    private final GridCanvas canvas;
+    private final Controller controller;
+    private long version = ChangeSet.NO_VERSION;
+
+    public CanvasGUI(final int size, final Controller controller) {
+        this.setDefaultCloseOperation(EXIT_ON_CLOSE);
+        this.controller = controller;
+        this.canvas = new GridCanvas(size, CELL_SIZE);
+
+        this.canvas.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                canvas.cellAt(e.getPoint()).ifPresent(cell -> handleCellClick(cell));
+            }
+        });
+        JScrollPane scrollPane = new JScrollPane(this.canvas);
+        scrollPane.getVerticalScrollBar().setUnitIncrement(CELL_SIZE);
+        scrollPane.getHorizontalScrollBar().setUnitIncrement(CELL_SIZE);
+        this.getContentPane().add(scrollPane);
+
+        int side = (int) Math.min((long) CELL_SIZE * size, MAX_WINDOW_SIZE);
+        this.setSize(side + CELL_SIZE, side + 2 * CELL_SIZE);
+    }
+
+    @Override
+    public void start() {
+        this.setVisible(true);
+    }
+
+    @Override
+    public void close() {
+        this.dispose();
+    }
+
+    @Override
+    public void handleCellClick(Pair<Integer, Integer> cell) {
+        this.controller.mark(cell);
+        this.update();
+    }
+
+    @Override
+    public void handleCellClick(Cell cell) {
+        this.controller.mark(cell);
+        this.update();
+    }
+
+    private void update() {
+        var changes = this.controller.changesSince(this.version);
+        this.canvas.apply(changes, this.controller);
+        this.version = changes.version();
+
+        if (this.controller.isOver()) {
+            this.close();
+            exitApplication();
+        }
+    }
+
+    /**
+     * The grid has no buttons
+     * @return an empty Map
+     */
+    @Override
+    public Map<JButton, Pair<Integer, Integer>> getCells() {
+        return Map.of();
+    }
+
+    @Override
+    public Optional<JButton> getButton(Cell cell) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,54 @@
+package gui;
+
+/*
+ * A cell of the grid, with both coordinates packed in a single long.
+ * The static helpers work on the packed form directly, so hot paths can avoid allocating cells at all.
+ */
+public record Cell(long packed) {
+
+    public static Cell of(int x, int y) {
+        return new Cell(pack(x, y));
+    }
+
+    public static Cell of(Pair<Integer, Integer> pair) {
+        return of(pair.x(), pair.y());
+    }
+
+    public static long pack(int x, int y) {
+        return ((long) x << Integer.SIZE) | (y & 0xFFFFFFFFL);
+    }
+
+    public static int x(long packed) {
+        return (int) (packed >> Integer.SIZE);
+    }
+
+    public static int y(long packed) {
+        return (int) packed;
+    }
+
+    public int x() {
+        return x(packed);
+    }
+
+    public int y() {
+        return y(packed);
+    }
+
+    public Pair<Integer, Integer> toPair() {
+        return new Pair<>(x(), y());
+    }
+
+    /*
+     * The hash of the packed long alone would be x ^ y, the same for a whole diagonal:
+     * multiplying by the golden ratio first spreads the cells over the buckets of a hash table.
+     */
+    @Override
+    public int hashCode() {
+        return Long.hashCode(packed * 0x9E3779B97F4A7C15L);
+    }
+
+    @Override
+    public String toString() {
+        return "Cell [x=" + x() + ", y=" + y() + "]";
+    }
+}
@@ -0,0 +1,12 @@
+package gui;
+
+@FunctionalInterface
+public interface CellConsumer {
+    /**
+     * Receives a marked cell
+     * @param x the x coordinate of the cell
+     * @param y the y coordinate of the cell
+     * @param counter the counter of the cell
+     */
+    void accept(int x, int y, int counter);
+}
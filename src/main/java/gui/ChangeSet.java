@@ -0,0 +1,82 @@
+package gui;
+
+/*
+ * The changes to the marked cells between two versions of a Controller.
+ * Cells are only added while placing and only translated up-right while moving, so a change set is either
+ * a list of added cells, a number of translations, or a full change asking to redraw everything.
+ */
+public final class ChangeSet {
+
+    /*
+     * Version never produced by a controller, asking for a full change set.
+     */
+    public static final long NO_VERSION = -1;
+
+    private final long version;
+    private final boolean full;
+    private final int translation;
+    private final long[] added;
+    private final int[] counters;
+
+    private ChangeSet(long version, boolean full, int translation, long[] added, int[] counters) {
+        this.version = version;
+        this.full = full;
+        this.translation = translation;
+        this.added = added;
+        this.counters = counters;
+    }
+
+    /**
+     * @param version the version the change set leads to
+     * @return a change set asking to redraw every marked cell
+     */
+    public static ChangeSet full(long version) {
+        return new ChangeSet(version, true, 0, new long[0], new int[0]);
+    }
+
+    /**
+     * @param version the version the change set leads to
+     * @param translation how many times the cells moved up-right
+     * @param added the packed coordinates of the added cells, in current coordinates
+     * @param counters the counters of the added cells
+     * @return a change set with the given changes
+     */
+    public static ChangeSet of(long version, int translation, long[] added, int[] counters) {
+        if (added.length != counters.length) {
+            throw new IllegalArgumentException("Each added cell needs its counter");
+        }
+        return new ChangeSet(version, false, translation, added, counters);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public int translation() {
+        return translation;
+    }
+
+    public int addedCount() {
+        return added.length;
+    }
+
+    /**
+     * Visit the cells added since the requested version
+     * @param consumer the consumer receiving the current coordinates and the counter of each added cell
+     */
+    public void forEachAdded(CellConsumer consumer) {
+        for (int i = 0; i < added.length; i++) {
+            consumer.accept(Cell.x(added[i]), Cell.y(added[i]), counters[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeSet [version=" + version + ", full=" + full + ", translation=" + translation
+                + ", added=" + added.length + "]";
+    }
+}
@@ -0,0 +1,241 @@
+package gui;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * A thread-safe Controller around another one.
+ * Marks are serialized on a lock, and after each of them an immutable snapshot of the game is published
+ * through a volatile reference: readers only ever see a complete snapshot and never wait for a writer.
+ * Readers needing several facts of the same moment should take them from a single {@link #snapshot()}.
+ */
+public class ConcurrentController implements Controller {
+
+    /**
+     * The game at one moment. When the delegate reports its changes, the cells are kept as the append-only
+     * history of placed cells with their counters, shared by all the snapshots: publishing costs no copy,
+     * and the map of the cells is only built when asked.
+     */
+    public static final class Snapshot {
+        private final long[] placed;
+        private final int[] counters;
+        private final int placedCount;
+        private final int moves;
+        private final boolean over;
+        private final Optional<BoundingBox> box;
+        private final OptionalInt remainingMoves;
+        private Map<Pair<Integer, Integer>, Integer> cells;
+
+        private Snapshot(long[] placed, int[] counters, int placedCount, int moves, boolean over,
+                         Optional<BoundingBox> box, OptionalInt remainingMoves, Map<Pair<Integer, Integer>, Integer> cells) {
+            this.placed = placed;
+            this.counters = counters;
+            this.placedCount = placedCount;
+            this.moves = moves;
+            this.over = over;
+            this.box = box;
+            this.remainingMoves = remainingMoves;
+            this.cells = cells;
+        }
+
+        private boolean tracked() {
+            return this.placed != null;
+        }
+
+        public boolean isOver() {
+            return this.over;
+        }
+
+        public Optional<BoundingBox> boundingBox() {
+            return this.box;
+        }
+
+        public OptionalInt remainingMoves() {
+            return this.remainingMoves;
+        }
+
+        /*
+         * Built at most once per snapshot by each racing reader; the map is immutable, so any of them is fine.
+         */
+        public Map<Pair<Integer, Integer>, Integer> cells() {
+            Map<Pair<Integer, Integer>, Integer> result = this.cells;
+            if (result == null) {
+                final Map<Pair<Integer, Integer>, Integer> built = new HashMap<>();
+                forEachMarked((x, y, counter) -> built.put(new Pair<>(x, y), counter));
+                result = Map.copyOf(built);
+                this.cells = result;
+            }
+            return result;
+        }
+
+        public void forEachMarked(CellConsumer consumer) {
+            if (!tracked()) {
+                this.cells.forEach((cell, counter) -> consumer.accept(cell.x(), cell.y(), counter));
+                return;
+            }
+            for (int i = 0; i < this.placedCount; i++) {
+                consumer.accept(Cell.x(this.placed[i]) + this.moves, Cell.y(this.placed[i]) - this.moves, this.counters[i]);
+            }
+        }
+    }
+
+    private final Controller delegate;
+    private final Object lock = new Object();
+    private long[] placed = new long[16];
+    private int[] counters = new int[16];
+    private int placedCount = 0;
+    private int moves = 0;
+    private boolean tracked;
+    private long delegateVersion;
+    private volatile Snapshot snapshot;
+
+    public ConcurrentController(Controller delegate) {
+        this.delegate = delegate;
+        final ChangeSet initial = delegate.changesSince(ChangeSet.NO_VERSION);
+        this.delegateVersion = initial.version();
+        this.tracked = initial.version() != ChangeSet.NO_VERSION;
+        delegate.forEachMarked(this::append);
+        this.snapshot = snapshotOfDelegate();
+    }
+
+    /**
+     * @return the last published snapshot, whose facts all belong to the same moment
+     */
+    public Snapshot snapshot() {
+        return this.snapshot;
+    }
+
+    @Override
+    public void mark(Pair<Integer, Integer> cell) {
+        synchronized (this.lock) {
+            try {
+                this.delegate.mark(cell);
+            } finally {
+                publish();
+            }
+        }
+    }
+
+    @Override
+    public void mark(Cell cell) {
+        synchronized (this.lock) {
+            try {
+                this.delegate.mark(cell);
+            } finally {
+                publish();
+            }
+        }
+    }
+
+    @Override
+    public int markAll(Collection<Cell> cells) {
+        synchronized (this.lock) {
+            try {
+                return this.delegate.markAll(cells);
+            } finally {
+                publish();
+            }
+        }
+    }
+
+    @Override
+    public int markAll(long[] cells) {
+        synchronized (this.lock) {
+            try {
+                return this.delegate.markAll(cells);
+            } finally {
+                publish();
+            }
+        }
+    }
+
+    @Override
+    public int advance(int count) {
+        synchronized (this.lock) {
+            try {
+                return this.delegate.advance(count);
+            } finally {
+                publish();
+            }
+        }
+    }
+
+    @Override
+    public OptionalInt remainingMoves() {
+        return this.snapshot.remainingMoves();
+    }
+
+    @Override
+    public boolean isOver() {
+        return this.snapshot.isOver();
+    }
+
+    @Override
+    public Map<Pair<Integer, Integer>, Integer> getMarkedCells() {
+        return this.snapshot.cells();
+    }
+
+    @Override
+    public void forEachMarked(CellConsumer consumer) {
+        this.snapshot.forEachMarked(consumer);
+    }
+
+    @Override
+    public ChangeSet changesSince(long version) {
+        final Snapshot current = this.snapshot;
+        if (!current.tracked()) {
+            return ChangeSet.full(ChangeSet.NO_VERSION);
+        }
+        return MarkHistory.changesSince(current.placed, current.placedCount, current.moves, version,
+                index -> current.counters[index]);
+    }
+
+    @Override
+    public Optional<BoundingBox> boundingBox() {
+        return this.snapshot.boundingBox();
+    }
+
+    /*
+     * A delegate that doesn't report its changes is copied whole after each write.
+     */
+    private void publish() {
+        if (this.tracked) {
+            final ChangeSet changes = this.delegate.changesSince(this.delegateVersion);
+            if (changes.isFull()) {
+                this.tracked = false;
+            } else if (changes.version() == this.delegateVersion) {
+                return;
+            } else {
+                this.delegateVersion = changes.version();
+                this.moves += changes.translation();
+                changes.forEachAdded(this::append);
+            }
+        }
+        this.snapshot = snapshotOfDelegate();
+    }
+
+    private Snapshot snapshotOfDelegate() {
+        if (this.tracked) {
+            return new Snapshot(this.placed, this.counters, this.placedCount, this.moves, this.delegate.isOver(),
+                    this.delegate.boundingBox(), this.delegate.remainingMoves(), null);
+        }
+        return new Snapshot(null, null, 0, 0, this.delegate.isOver(), this.delegate.boundingBox(),
+                this.delegate.remainingMoves(), Map.copyOf(this.delegate.getMarkedCells()));
+    }
+
+    /*
+     * Cells are kept as they were placed, so that moves only change the translation of the snapshots.
+     */
+    private void append(int x, int y, int counter) {
+        if (this.placedCount == this.placed.length) {
+            this.placed = Arrays.copyOf(this.placed, this.placedCount * 2);
+            this.counters = Arrays.copyOf(this.counters, this.placedCount * 2);
+        }
+        this.placed[this.placedCount] = Cell.pack(x - this.moves, y + this.moves);
+        this.counters[this.placedCount++] = counter;
+    }
+}
@@ -1,15 +1,99 @@
 package gui;
 
+import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
 
 public interface Controller {
 
     /**
      * Mark a Cell inside the grid
      * @param cell the position of the cell to makr
+     * @throws IllegalStateException if the game is over
+     * @throws IllegalArgumentException if the cell is outside the grid before the cells start moving
      */
     void mark(Pair<Integer, Integer> cell) throws IllegalStateException;
 
+    /**
+     * Mark a Cell inside the grid, without boxing its coordinates
+     * @param cell the position of the cell to mark
+     * @see #mark(Pair)
+     */
+    default void mark(Cell cell) throws IllegalStateException {
+        mark(cell.toPair());
+    }
+
+    /**
+     * Mark a sequence of cells in order, exactly as marking them one at a time, but stopping as soon as the game is over
+     * @param cells the cells to mark
+     * @return how many cells were marked, including the one ending the game
+     * @throws IllegalStateException if the game is already over
+     * @throws IllegalArgumentException if a cell is outside the grid before the cells start moving,
+     * after marking the cells before it
+     */
+    default int markAll(Collection<Cell> cells) throws IllegalStateException {
+        int marked = 0;
+        for (Cell cell : cells) {
+            mark(cell);
+            marked++;
+            if (isOver()) {
+                break;
+            }
+        }
+        return marked;
+    }
+
+    /**
+     * Mark a sequence of cells in order, given as packed {@link Cell}s
+     * @param cells the packed cells to mark
+     * @return how many cells were marked, including the one ending the game
+     * @see #markAll(Collection)
+     */
+    default int markAll(long[] cells) throws IllegalStateException {
+        int marked = 0;
+        for (long cell : cells) {
+            mark(new Cell(cell));
+            marked++;
+            if (isOver()) {
+                break;
+            }
+        }
+        return marked;
+    }
+
+    /**
+     * Return how many more marks the game lasts once the cells are moving, since every mark then moves them up-right
+     * @return the number of marks left, including the one ending the game, 0 if the game is over,
+     * or an empty OptionalInt if the cells are not moving yet or the controller can't tell
+     */
+    default OptionalInt remainingMoves() {
+        return OptionalInt.empty();
+    }
+
+    /**
+     * Move the cells up-right as many times as marking any cell would, without marking.
+     * The default marks a cell for every move, and needs {@link #remainingMoves()} to tell that the cells are moving
+     * @param count the number of moves
+     * @return the number of moves applied, fewer than count if the game ended before
+     * @throws IllegalStateException if the game is over or the cells are not known to be moving
+     */
+    default int advance(int count) throws IllegalStateException {
+        if (count < 0) {
+            throw new IllegalArgumentException("Cannot advance by " + count + " moves");
+        }
+        if (isOver() || remainingMoves().isEmpty()) {
+            throw new IllegalStateException("Cannot advance if the cells are not moving");
+        }
+        final Cell anyCell = Cell.of(0, 0);
+        int applied = 0;
+        while (applied < count && !isOver()) {
+            mark(anyCell);
+            applied++;
+        }
+        return applied;
+    }
+
     /**
      * Check if the game is over
      * @return true if the game is over or false otherwise
@@ -21,4 +105,32 @@ public interface Controller {
      * @return a Map of Pairs that indicates the coordinates for the marked cells
      */
     Map<Pair<Integer, Integer>, Integer> getMarkedCells();
+
+    /**
+     * Visit every marked cell with its counter, without copying the marked cells.
+     * The controller must not be modified while visiting.
+     * @param consumer the consumer receiving the coordinates and the counter of each marked cell
+     */
+    default void forEachMarked(CellConsumer consumer) {
+        getMarkedCells().forEach((cell, counter) -> consumer.accept(cell.x(), cell.y(), counter));
+    }
+
+    /**
+     * Return what changed in the marked cells since a version previously returned in a change set
+     * @param version the version the caller is at, or {@link ChangeSet#NO_VERSION} if it has none
+     * @return the changes leading to the current version, or a full change set if they are unknown
+     */
+    default ChangeSet changesSince(long version) {
+        return ChangeSet.full(ChangeSet.NO_VERSION);
+    }
+
+    /**
+     * Return the bounding box of the marked cells, in the same coordinates as {@link #getMarkedCells()}
+     * @return the box containing every marked cell, or an empty Optional if no cell is marked
+     */
+    default Optional<BoundingBox> boundingBox() {
+        return getMarkedCells().keySet().stream()
+                .map(cell -> new BoundingBox(cell.x(), cell.y(), cell.x(), cell.y()))
+                .reduce((a, b) -> a.include(b.minX(), b.minY()));
+    }
 }
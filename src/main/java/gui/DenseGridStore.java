@@ -0,0 +1,87 @@
+package gui;
+
+/*
+ * A GridStore with one bit per cell of the grid, and a parallel array for the counters.
+ */
+final class DenseGridStore implements GridStore {
+
+    private final int gridSize;
+    private final long[] marked;
+    private final int[] counters;
+    private int size = 0;
+
+    DenseGridStore(int gridSize) {
+        if (!fits(gridSize)) {
+            throw new IllegalArgumentException("Grid too large for a dense store: " + gridSize);
+        }
+        this.gridSize = gridSize;
+        this.marked = new long[(gridSize * gridSize + Long.SIZE - 1) / Long.SIZE];
+        this.counters = new int[gridSize * gridSize];
+    }
+
+    static boolean fits(int gridSize) {
+        return gridSize > 0 && (long) gridSize * gridSize <= Integer.MAX_VALUE - Long.SIZE;
+    }
+
+    static long memoryBytes(int gridSize) {
+        final long cells = (long) gridSize * gridSize;
+        return cells / Byte.SIZE + cells * Integer.BYTES;
+    }
+
+    @Override
+    public boolean isMarked(int x, int y) {
+        final int index = y * gridSize + x;
+        return (this.marked[index >>> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public int counter(int x, int y) {
+        return this.counters[y * gridSize + x];
+    }
+
+    @Override
+    public boolean put(int x, int y, int counter) {
+        if (isMarked(x, y)) {
+            return false;
+        }
+        final int index = y * gridSize + x;
+        this.counters[index] = counter;
+        this.marked[index >>> 6] |= 1L << index;
+        this.size++;
+        return true;
+    }
+
+    @Override
+    public boolean hasMarkedNeighbour(int x, int y) {
+        for (int nx = Math.max(x - 1, 0); nx <= Math.min(x + 1, gridSize - 1); nx++) {
+            for (int ny = Math.max(y - 1, 0); ny <= Math.min(y + 1, gridSize - 1); ny++) {
+                if ((nx != x || ny != y) && isMarked(nx, ny)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void forEach(CellConsumer consumer) {
+        for (int word = 0; word < this.marked.length; word++) {
+            long bits = this.marked[word];
+            while (bits != 0) {
+                final int index = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                consumer.accept(index % gridSize, index / gridSize, this.counters[index]);
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    @Override
+    public long memoryBytes() {
+        return memoryBytes(this.gridSize);
+    }
+}
@@ -3,36 +3,39 @@ package gui;
 import javax.swing.*;
 import java.util.*;
 import java.awt.*;
-import java.awt.event.ActionListener;
 
 public class GUI extends JFrame implements View {
 
     private static final long serialVersionUID = -6218820567019985015L;
-    private final Map<JButton, Pair<Integer, Integer>> cells = new HashMap<>();
+    private final Map<JButton, Pair<Integer, Integer>> cells;
+    private final JButton[] buttons;
+    private final int size;
     private final Controller controller;
+    private long version = ChangeSet.NO_VERSION;
 
 
     public GUI(final int size, final Controller controller) {
         this.setDefaultCloseOperation(EXIT_ON_CLOSE);
         this.setSize(100*size, 100*size);
         this.controller = controller;
+        this.size = size;
+        this.buttons = new JButton[size * size];
 
         JPanel panel = new JPanel(new GridLayout(size,size));
         this.getContentPane().add(panel);
 
-        ActionListener al = e -> {
-            var jb = (JButton) e.getSource();
-            handleCellClick(this.cells.get(jb));
-        };
-
+        Map<JButton, Pair<Integer, Integer>> positions = new HashMap<>();
         for (int i=0; i<size; i++){
             for (int j=0; j<size; j++){
                 final JButton jb = new JButton();
-                this.cells.put(jb, new Pair<>(j,i));
-                jb.addActionListener(al);
+                final Cell cell = Cell.of(j,i);
+                positions.put(jb, new Pair<>(j,i));
+                this.buttons[i * size + j] = jb;
+                jb.addActionListener(e -> handleCellClick(cell));
                 panel.add(jb);
             }
         }
+        this.cells = Collections.unmodifiableMap(positions);
     }
 
     @Override
@@ -47,16 +50,33 @@ public class GUI extends JFrame implements View {
 
     @Override
     public void handleCellClick(Pair<Integer, Integer> cell) {
-        cells.keySet().forEach(button -> button.setText(""));
         this.controller.mark(cell);
-        var marked = this.controller.getMarkedCells();
+        this.update();
+    }
 
-        cells.forEach((button, position) -> {
-            Integer index = marked.get(position);
-            if (index != null) {
-                button.setText(String.valueOf(index));
-            }
-        });
+    @Override
+    public void handleCellClick(Cell cell) {
+        this.controller.mark(cell);
+        this.update();
+    }
+
+    /*
+     * Only the buttons affected by the changes since the last update are redrawn:
+     * after a translation the cells are cleared from where they were and drawn where they are now.
+     */
+    private void update() {
+        var changes = this.controller.changesSince(this.version);
+        if (changes.isFull()) {
+            cells.keySet().forEach(button -> button.setText(""));
+            this.controller.forEachMarked(this::setText);
+        } else if (changes.translation() > 0) {
+            int translation = changes.translation();
+            this.controller.forEachMarked((x, y, counter) -> setText(x - translation, y + translation, ""));
+            this.controller.forEachMarked(this::setText);
+        } else {
+            changes.forEachAdded(this::setText);
+        }
+        this.version = changes.version();
 
         if (this.controller.isOver()) {
             this.close();
@@ -64,9 +84,28 @@ public class GUI extends JFrame implements View {
         }
     }
 
+    private void setText(int x, int y, int counter) {
+        setText(x, y, String.valueOf(counter));
+    }
+
+    private void setText(int x, int y, String text) {
+        if (isInside(x, y)) {
+            this.buttons[y * size + x].setText(text);
+        }
+    }
+
+    private boolean isInside(int x, int y) {
+        return x >= 0 && x < size && y >= 0 && y < size;
+    }
+
     @Override
     public Map<JButton, Pair<Integer, Integer>> getCells() {
-        return Map.copyOf(this.cells);
+        return this.cells;
+    }
+
+    @Override
+    public Optional<JButton> getButton(Cell cell) {
+        return isInside(cell.x(), cell.y()) ? Optional.of(this.buttons[cell.y() * size + cell.x()]) : Optional.empty();
     }
 
 }
\ No newline at end of file
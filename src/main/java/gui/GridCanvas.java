@@ -0,0 +1,123 @@
+package gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Arrays;
+import java.util.Optional;
+
+/*
+ * A single component painting a whole grid, used by CanvasGUI.
+ * It keeps its own copy of the counters, updated from the change sets of the controller, and only paints
+ * the cells inside the clip, so inside a scroll pane only the visible viewport is rendered.
+ */
+class GridCanvas extends JComponent {
+
+    private static final long serialVersionUID = 4180412716035538214L;
+    static final int EMPTY = -1;
+
+    private final int size;
+    private final int cellSize;
+    private final int[] counters;
+    private int shift = 0;
+
+    GridCanvas(final int size, final int cellSize) {
+        if (size <= 0 || cellSize <= 0 || (long) size * cellSize > Integer.MAX_VALUE
+                || (long) size * size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Unsupported grid of " + size + " cells of " + cellSize + " pixels");
+        }
+        this.size = size;
+        this.cellSize = cellSize;
+        this.counters = new int[size * size];
+        Arrays.fill(this.counters, EMPTY);
+        this.setPreferredSize(new Dimension(size * cellSize, size * cellSize));
+        this.setOpaque(true);
+        this.setBackground(Color.WHITE);
+        this.setForeground(Color.BLACK);
+    }
+
+    /**
+     * Update the counters shown with the changes of a controller, and repaint the affected area
+     * @param changes the changes since the last update
+     * @param controller the controller the changes come from
+     */
+    void apply(final ChangeSet changes, final Controller controller) {
+        if (changes.isFull()) {
+            Arrays.fill(this.counters, EMPTY);
+            this.shift = 0;
+            controller.forEachMarked(this::show);
+            this.repaint();
+        } else if (changes.translation() > 0) {
+            this.shift += changes.translation();
+            changes.forEachAdded(this::show);
+            this.repaint();
+        } else {
+            changes.forEachAdded((x, y, counter) -> {
+                show(x, y, counter);
+                this.repaint(x * cellSize, y * cellSize, cellSize, cellSize);
+            });
+        }
+    }
+
+    /**
+     * @return the counter shown in a cell, or EMPTY if the cell is not marked
+     */
+    int counterAt(final int x, final int y) {
+        final int baseX = x - shift;
+        final int baseY = y + shift;
+        return isInside(x, y) && isInside(baseX, baseY) ? this.counters[baseY * size + baseX] : EMPTY;
+    }
+
+    /**
+     * @return the cell under a point of the component, or an empty Optional if the point is outside the grid
+     */
+    Optional<Cell> cellAt(final Point point) {
+        if (point.x < 0 || point.y < 0) {
+            return Optional.empty();
+        }
+        final int x = point.x / cellSize;
+        final int y = point.y / cellSize;
+        return isInside(x, y) ? Optional.of(Cell.of(x, y)) : Optional.empty();
+    }
+
+    @Override
+    protected void paintComponent(final Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        final int firstX = Math.max(0, clip.x / cellSize);
+        final int lastX = Math.min(size - 1, (clip.x + clip.width - 1) / cellSize);
+        final int firstY = Math.max(0, clip.y / cellSize);
+        final int lastY = Math.min(size - 1, (clip.y + clip.height - 1) / cellSize);
+        final FontMetrics metrics = g.getFontMetrics();
+        for (int y = firstY; y <= lastY; y++) {
+            for (int x = firstX; x <= lastX; x++) {
+                g.setColor(Color.LIGHT_GRAY);
+                g.drawRect(x * cellSize, y * cellSize, cellSize - 1, cellSize - 1);
+                final int counter = counterAt(x, y);
+                if (counter != EMPTY) {
+                    final String text = String.valueOf(counter);
+                    g.setColor(getForeground());
+                    g.drawString(text,
+                            x * cellSize + (cellSize - metrics.stringWidth(text)) / 2,
+                            y * cellSize + (cellSize + metrics.getAscent() - metrics.getDescent()) / 2);
+                }
+            }
+        }
+    }
+
+    private void show(final int x, final int y, final int counter) {
+        final int baseX = x - shift;
+        final int baseY = y + shift;
+        if (isInside(baseX, baseY)) {
+            this.counters[baseY * size + baseX] = counter;
+        }
+    }
+
+    private boolean isInside(final int x, final int y) {
+        return x >= 0 && x < size && y >= 0 && y < size;
+    }
+}
@@ -0,0 +1,246 @@
+package gui;
+
+import gui.logger.EventSink;
+import gui.logger.EventType;
+import gui.logger.LogLevel;
+import gui.logger.Logger;
+
+import java.util.Collections;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.IntFunction;
+
+/*
+ * The rules of the game over a GridStore, shared by the controllers that only differ in how they store the cells.
+ * Cells are stored where they were marked, the translation of the move phase is kept as a single offset.
+ */
+abstract class GridController implements Controller {
+
+    private GridStore store;
+    private int minX = Integer.MAX_VALUE;
+    private int minY = Integer.MAX_VALUE;
+    private int maxX = Integer.MIN_VALUE;
+    private int maxY = Integer.MIN_VALUE;
+    private int moves = 0;
+    private boolean moveFlag = false;
+    private boolean overFlag = false;
+    private final int gridSize;
+    private final Logger logger;
+    private final EventSink events;
+    private final MarkHistory history = new MarkHistory();
+
+    /**
+     * @param gridSize the size of the grid
+     * @param logger the logger of the game
+     * @param events the sink recording the events of the game
+     * @param stores creates the store of the cells, for the given grid size
+     */
+    GridController(int gridSize, Logger logger, EventSink events, IntFunction<GridStore> stores) {
+        if (gridSize <= 0 || gridSize > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Unsupported grid size " + gridSize);
+        }
+        this.gridSize = gridSize;
+        this.logger = logger;
+        this.events = events;
+        this.store = stores.apply(gridSize);
+        this.logger.log(LogLevel.INFO, "New game initialized");
+    }
+
+    /*
+     * Called after each new cell is stored, so that subclasses can change the store as the grid fills up.
+     */
+    void afterPlacement() {
+    }
+
+    GridStore store() {
+        return this.store;
+    }
+
+    void replaceStore(final GridStore store) {
+        this.store = store;
+    }
+
+    int gridSize() {
+        return this.gridSize;
+    }
+
+    Logger logger() {
+        return this.logger;
+    }
+
+    @Override
+    public void mark(final Pair<Integer, Integer> cell) {
+        mark(cell.x(), cell.y(), cell);
+    }
+
+    @Override
+    public void mark(final Cell cell) {
+        mark(cell.x(), cell.y(), cell);
+    }
+
+    @Override
+    public int markAll(final Collection<Cell> cells) {
+        this.logger.log(LogLevel.INFO, "Marking {} cells", cells.size());
+        int marked = 0;
+        for (final Cell cell : cells) {
+            markCell(cell.x(), cell.y(), cell);
+            marked++;
+            if (this.overFlag) {
+                break;
+            }
+        }
+        return marked;
+    }
+
+    @Override
+    public int markAll(final long[] cells) {
+        this.logger.log(LogLevel.INFO, "Marking {} cells", cells.length);
+        int marked = 0;
+        for (final long cell : cells) {
+            markCell(Cell.x(cell), Cell.y(cell), null);
+            marked++;
+            if (this.overFlag) {
+                break;
+            }
+        }
+        return marked;
+    }
+
+    private void mark(final int x, final int y, final Object cell) {
+        this.logger.log(LogLevel.INFO, "Marking cell {}", cell);
+        markCell(x, y, cell);
+    }
+
+    /*
+     * The cell is only used in messages, and may be null when only its coordinates are known.
+     */
+    private void markCell(final int x, final int y, final Object cell) {
+        if(this.isOver()) {
+            this.logger.log(LogLevel.ERROR, "Causing error while marking{}", describe(x, y, cell));
+            this.events.record(LogLevel.ERROR, EventType.REJECTED, x, y, -1);
+            throw new IllegalStateException("Cannot mark if the game is over");
+        }
+
+        if (!this.moveFlag && !isInside(x, y)) {
+            throw new IllegalArgumentException("Cell " + describe(x, y, cell) + " is outside the grid");
+        }
+
+        if (moveFlag || isAdjacent(x, y)) {
+            this.moveFlag = true;
+            moveCells(1, x, y);
+            return;
+        }
+
+        if (this.store.isMarked(x, y)) {
+            return;
+        }
+        this.history.placed(x, y);
+        this.events.record(LogLevel.INFO, EventType.MARK, x, y, this.store.size());
+        this.store.put(x, y, this.store.size());
+        this.minX = Math.min(this.minX, x);
+        this.minY = Math.min(this.minY, y);
+        this.maxX = Math.max(this.maxX, x);
+        this.maxY = Math.max(this.maxY, y);
+        afterPlacement();
+    }
+
+    @Override
+    public boolean isOver() {
+        return this.overFlag;
+    }
+
+    /*
+     * Moving up-right, the game ends when the right-most column reaches gridSize or the top-most row reaches -1.
+     */
+    @Override
+    public OptionalInt remainingMoves() {
+        if (!this.moveFlag) {
+            return OptionalInt.empty();
+        }
+        if (this.overFlag) {
+            return OptionalInt.of(0);
+        }
+        return OptionalInt.of(Math.min(gridSize - (this.maxX + this.moves), this.minY - this.moves + 1));
+    }
+
+    @Override
+    public int advance(final int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Cannot advance by " + count + " moves");
+        }
+        if (this.isOver()) {
+            throw new IllegalStateException("Cannot advance if the game is over");
+        }
+        if (!this.moveFlag) {
+            throw new IllegalStateException("Cannot advance before the cells start moving");
+        }
+        final int applied = Math.min(count, remainingMoves().getAsInt());
+        if (applied > 0) {
+            this.logger.log(LogLevel.INFO, "Advancing {} moves", applied);
+            moveCells(applied, -1, -1);
+        }
+        return applied;
+    }
+
+    @Override
+    public ChangeSet changesSince(final long version) {
+        return this.history.changesSince(version, cell -> this.store.counter(Cell.x(cell), Cell.y(cell)));
+    }
+
+    @Override
+    public Optional<BoundingBox> boundingBox() {
+        if (this.store.size() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new BoundingBox(minX + moves, minY - moves, maxX + moves, maxY - moves));
+    }
+
+    @Override
+    public Map<Pair<Integer, Integer>, Integer> getMarkedCells() {
+        final Map<Pair<Integer, Integer>, Integer> result = new HashMap<>();
+        forEachMarked((x, y, counter) -> result.put(new Pair<>(x, y), counter));
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public void forEachMarked(final CellConsumer consumer) {
+        this.store.forEach((x, y, counter) -> consumer.accept(x + moves, y - moves, counter));
+    }
+
+    /*
+     * Moving up-right only shifts the offset, and the game is over as soon as a corner of the
+     * bounding box leaves the grid.
+     */
+    private void moveCells(final int count, final int x, final int y) {
+        this.moves += count;
+        this.history.moved(count);
+        if (this.logger.isEnabled(LogLevel.DEBUG)) {
+            this.logger.log(LogLevel.DEBUG, "Cells moved up-right {} times", this.moves);
+        }
+        this.overFlag = !isInside(this.minX + this.moves, this.minY - this.moves)
+                || !isInside(this.maxX + this.moves, this.maxY - this.moves);
+        this.events.record(LogLevel.INFO, EventType.MOVE, x, y, this.moves);
+        if (this.overFlag) {
+            this.events.record(LogLevel.INFO, EventType.GAME_OVER, x, y, this.moves);
+        }
+    }
+
+    private static Object describe(final int x, final int y, final Object cell) {
+        return cell != null ? cell : Cell.of(x, y);
+    }
+
+    /*
+     * The store answers in constant time, whatever the size of the grid and the number of marked cells.
+     */
+    private boolean isAdjacent(final int x, final int y) {
+        return this.store.hasMarkedNeighbour(x, y);
+    }
+
+    private boolean isInside(final int x, final int y) {
+        return x >= 0 && x < gridSize && y >= 0 && y < gridSize;
+    }
+
+}
@@ -0,0 +1,48 @@
+package gui;
+
+/*
+ * The storage of the marked cells of a square grid, with their counters.
+ * Coordinates are always inside the grid.
+ */
+interface GridStore {
+
+    boolean isMarked(int x, int y);
+
+    /**
+     * @return the counter of a marked cell
+     */
+    int counter(int x, int y);
+
+    /**
+     * Mark a cell with its counter; a cell already marked keeps its counter
+     * @return true if the cell was not marked before
+     */
+    boolean put(int x, int y, int counter);
+
+    /**
+     * Check whether one of the 8 cells around a cell is marked; the neighbours may be just outside the grid.
+     * By default each neighbour is probed.
+     */
+    default boolean hasMarkedNeighbour(int x, int y) {
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                if ((dx != 0 || dy != 0) && isMarked(x + dx, y + dy)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of marked cells
+     */
+    int size();
+
+    void forEach(CellConsumer consumer);
+
+    /**
+     * @return an estimate of the memory used by the store, in bytes
+     */
+    long memoryBytes();
+}
@@ -0,0 +1,61 @@
+package gui;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * A GridStore keeping only the marked cells, in a hash map: its memory is proportional to the marked cells,
+ * whatever the size of the grid. The neighbours of the marked cells are counted too, so that checking
+ * adjacency is a single lookup.
+ */
+final class HashGridStore implements GridStore {
+
+    /*
+     * A rough size of a HashMap entry with its boxed key and counter.
+     */
+    private static final long ENTRY_BYTES = 80;
+
+    private final Map<Cell, Integer> cells = new HashMap<>();
+    private final NeighbourCounts neighbours = new NeighbourCounts();
+
+    @Override
+    public boolean isMarked(int x, int y) {
+        return this.cells.containsKey(Cell.of(x, y));
+    }
+
+    @Override
+    public int counter(int x, int y) {
+        return this.cells.get(Cell.of(x, y));
+    }
+
+    @Override
+    public boolean put(int x, int y, int counter) {
+        if (this.cells.putIfAbsent(Cell.of(x, y), counter) != null) {
+            return false;
+        }
+        this.neighbours.add(x, y);
+        return true;
+    }
+
+    @Override
+    public boolean hasMarkedNeighbour(int x, int y) {
+        return this.neighbours.count(x, y) > 0;
+    }
+
+    @Override
+    public int size() {
+        return this.cells.size();
+    }
+
+    @Override
+    public void forEach(CellConsumer consumer) {
+        for (final Map.Entry<Cell, Integer> entry : this.cells.entrySet()) {
+            consumer.accept(entry.getKey().x(), entry.getKey().y(), entry.getValue());
+        }
+    }
+
+    @Override
+    public long memoryBytes() {
+        return this.cells.size() * ENTRY_BYTES + this.neighbours.memoryBytes();
+    }
+}
@@ -0,0 +1,71 @@
+package gui;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongToIntFunction;
+
+/*
+ * The history of a controller, used to build its change sets.
+ * Every placing mark and every move is a new version; since all the placing marks come before the
+ * first move, the history only needs the placed cells in order and the number of moves.
+ */
+final class MarkHistory {
+
+    private static final long[] NO_CELLS = new long[0];
+    private static final int[] NO_COUNTERS = new int[0];
+
+    private long[] placed = new long[16];
+    private int placedCount = 0;
+    private int moves = 0;
+
+    void placed(int x, int y) {
+        if (placedCount == placed.length) {
+            placed = Arrays.copyOf(placed, placedCount * 2);
+        }
+        placed[placedCount++] = Cell.pack(x, y);
+    }
+
+    void moved(int count) {
+        moves += count;
+    }
+
+    long version() {
+        return (long) placedCount + moves;
+    }
+
+    /**
+     * @param version the version the caller is at
+     * @param counter gives the current counter of a cell, from its packed coordinates as it was placed
+     * @return the changes from the given version to the current one
+     */
+    ChangeSet changesSince(long version, LongToIntFunction counter) {
+        final long[] cells = placed;
+        return changesSince(cells, placedCount, moves, version, index -> counter.applyAsInt(cells[index]));
+    }
+
+    /**
+     * Build a change set from a history given by its parts, that may belong to an immutable snapshot
+     * @param placed the placed cells, packed as they were placed
+     * @param placedCount how many cells of the array were placed
+     * @param moves how many moves followed the placed cells
+     * @param counterAt gives the current counter of a placed cell, from its index in placed
+     */
+    static ChangeSet changesSince(long[] placed, int placedCount, int moves, long version, IntUnaryOperator counterAt) {
+        final long current = (long) placedCount + moves;
+        if (version < 0 || version > current) {
+            return ChangeSet.full(current);
+        }
+        if (version >= placedCount) {
+            return ChangeSet.of(current, (int) (current - version), NO_CELLS, NO_COUNTERS);
+        }
+        final int from = (int) version;
+        final long[] added = new long[placedCount - from];
+        final int[] counters = new int[added.length];
+        for (int i = 0; i < added.length; i++) {
+            final long cell = placed[from + i];
+            added[i] = Cell.pack(Cell.x(cell) + moves, Cell.y(cell) - moves);
+            counters[i] = counterAt.applyAsInt(from + i);
+        }
+        return ChangeSet.of(current, moves, added, counters);
+    }
+}
@@ -0,0 +1,96 @@
+package gui;
+
+import java.util.Arrays;
+
+/*
+ * For every cell next to a marked one, the number of its marked neighbours: a cell is adjacent to the marked
+ * ones when it has an entry. Entries live in an open-addressing table keyed by the packed coordinates,
+ * so the memory follows the marked cells and not the grid.
+ */
+final class NeighbourCounts {
+
+    private static final long NO_CELL = Long.MIN_VALUE;
+
+    private long[] keys = new long[16];
+    private int[] counts = new int[16];
+    private int size = 0;
+
+    NeighbourCounts() {
+        Arrays.fill(this.keys, NO_CELL);
+    }
+
+    /**
+     * Count a newly marked cell in each of its 8 neighbours
+     */
+    void add(int x, int y) {
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                if (dx != 0 || dy != 0) {
+                    increment(Cell.pack(x + dx, y + dy));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return how many of the 8 neighbours of a cell are marked
+     */
+    int count(int x, int y) {
+        final long key = Cell.pack(x, y);
+        final int mask = this.keys.length - 1;
+        for (int slot = hash(key) & mask; this.keys[slot] != NO_CELL; slot = (slot + 1) & mask) {
+            if (this.keys[slot] == key) {
+                return this.counts[slot];
+            }
+        }
+        return 0;
+    }
+
+    long memoryBytes() {
+        return (long) this.keys.length * (Long.BYTES + Integer.BYTES);
+    }
+
+    private void increment(long key) {
+        final int mask = this.keys.length - 1;
+        int slot = hash(key) & mask;
+        while (this.keys[slot] != NO_CELL) {
+            if (this.keys[slot] == key) {
+                this.counts[slot]++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if ((this.size + 1) * 2 > this.keys.length) {
+            resize();
+            increment(key);
+            return;
+        }
+        this.keys[slot] = key;
+        this.counts[slot] = 1;
+        this.size++;
+    }
+
+    private void resize() {
+        final long[] oldKeys = this.keys;
+        final int[] oldCounts = this.counts;
+        this.keys = new long[oldKeys.length * 2];
+        this.counts = new int[oldKeys.length * 2];
+        Arrays.fill(this.keys, NO_CELL);
+        final int mask = this.keys.length - 1;
+        for (int old = 0; old < oldKeys.length; old++) {
+            if (oldKeys[old] != NO_CELL) {
+                int slot = hash(oldKeys[old]) & mask;
+                while (this.keys[slot] != NO_CELL) {
+                    slot = (slot + 1) & mask;
+                }
+                this.keys[slot] = oldKeys[old];
+                this.counts[slot] = oldCounts[old];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,143 @@
+package gui;
+
+import java.util.Arrays;
+
+/*
+ * A GridStore split in square tiles of TILE_SIZE cells per side, allocated when their first cell is marked.
+ * Tiles are found through an open-addressing table keyed by the tile coordinates packed in a long.
+ */
+final class SparseGridStore implements GridStore {
+
+    static final int TILE_SHIFT = 4;
+    static final int TILE_SIZE = 1 << TILE_SHIFT;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+    private static final long NO_TILE = Long.MIN_VALUE;
+    static final long TILE_BYTES = 2L * 16 + (long) TILE_SIZE * TILE_SIZE / Byte.SIZE + (long) TILE_SIZE * TILE_SIZE * Integer.BYTES;
+
+    /*
+     * One long per row of the tile, since TILE_SIZE <= Long.SIZE.
+     */
+    private static final class Tile {
+        private final long[] rows = new long[TILE_SIZE];
+        private final int[] counters = new int[TILE_SIZE * TILE_SIZE];
+    }
+
+    private long[] keys = new long[16];
+    private Tile[] tiles = new Tile[16];
+    private int tileCount = 0;
+    private int size = 0;
+
+    SparseGridStore() {
+        Arrays.fill(this.keys, NO_TILE);
+    }
+
+    @Override
+    public boolean isMarked(int x, int y) {
+        final Tile tile = find(x >> TILE_SHIFT, y >> TILE_SHIFT);
+        return tile != null && (tile.rows[y & TILE_MASK] & (1L << (x & TILE_MASK))) != 0;
+    }
+
+    @Override
+    public int counter(int x, int y) {
+        return find(x >> TILE_SHIFT, y >> TILE_SHIFT).counters[((y & TILE_MASK) << TILE_SHIFT) | (x & TILE_MASK)];
+    }
+
+    @Override
+    public boolean put(int x, int y, int counter) {
+        Tile tile = find(x >> TILE_SHIFT, y >> TILE_SHIFT);
+        if (tile == null) {
+            tile = insert(x >> TILE_SHIFT, y >> TILE_SHIFT);
+        }
+        final long bit = 1L << (x & TILE_MASK);
+        if ((tile.rows[y & TILE_MASK] & bit) != 0) {
+            return false;
+        }
+        tile.counters[((y & TILE_MASK) << TILE_SHIFT) | (x & TILE_MASK)] = counter;
+        tile.rows[y & TILE_MASK] |= bit;
+        this.size++;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void forEach(CellConsumer consumer) {
+        for (int slot = 0; slot < this.keys.length; slot++) {
+            if (this.keys[slot] == NO_TILE) {
+                continue;
+            }
+            final int tileX = Cell.x(this.keys[slot]) << TILE_SHIFT;
+            final int tileY = Cell.y(this.keys[slot]) << TILE_SHIFT;
+            final Tile tile = this.tiles[slot];
+            for (int row = 0; row < TILE_SIZE; row++) {
+                long bits = tile.rows[row];
+                while (bits != 0) {
+                    final int column = Long.numberOfTrailingZeros(bits);
+                    consumer.accept(tileX + column, tileY + row, tile.counters[(row << TILE_SHIFT) | column]);
+                    bits &= bits - 1;
+                }
+            }
+        }
+    }
+
+    @Override
+    public long memoryBytes() {
+        return this.tileCount * TILE_BYTES + (long) this.keys.length * (Long.BYTES + Integer.BYTES);
+    }
+
+    int tileCount() {
+        return this.tileCount;
+    }
+
+    private Tile find(int tileX, int tileY) {
+        final long key = Cell.pack(tileX, tileY);
+        final int mask = this.keys.length - 1;
+        for (int slot = hash(key) & mask; this.keys[slot] != NO_TILE; slot = (slot + 1) & mask) {
+            if (this.keys[slot] == key) {
+                return this.tiles[slot];
+            }
+        }
+        return null;
+    }
+
+    private Tile insert(int tileX, int tileY) {
+        if ((this.tileCount + 1) * 2 > this.keys.length) {
+            resize();
+        }
+        final Tile tile = new Tile();
+        place(Cell.pack(tileX, tileY), tile);
+        this.tileCount++;
+        return tile;
+    }
+
+    private void place(long key, Tile tile) {
+        final int mask = this.keys.length - 1;
+        int slot = hash(key) & mask;
+        while (this.keys[slot] != NO_TILE) {
+            slot = (slot + 1) & mask;
+        }
+        this.keys[slot] = key;
+        this.tiles[slot] = tile;
+    }
+
+    private void resize() {
+        final long[] oldKeys = this.keys;
+        final Tile[] oldTiles = this.tiles;
+        this.keys = new long[oldKeys.length * 2];
+        this.tiles = new Tile[oldKeys.length * 2];
+        Arrays.fill(this.keys, NO_TILE);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != NO_TILE) {
+                place(oldKeys[slot], oldTiles[slot]);
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
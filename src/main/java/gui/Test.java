@@ -1,5 +1,7 @@
 package gui;
 
+import gui.logger.AsyncLogger;
+
 public class Test {
 
     private final static int GRID_SIZE = 10;
@@ -28,10 +30,10 @@ public class Test {
 
 
     public static void main(String[] args) throws java.io.IOException {
-        var controller = new ControllerImpl(
-                GRID_SIZE,
-                (info, str) -> System.out.println("["+info+"]: "+str)
-        );
+        var logger = new AsyncLogger((info, str) -> System.out.println("["+info+"]: "+str));
+        // the window exits the JVM when closed or at the end of the game: flush the pending records before
+        Runtime.getRuntime().addShutdownHook(new Thread(logger::close));
+        var controller = new ControllerImpl(GRID_SIZE, logger);
         new GUI(GRID_SIZE, controller).start();
     }
 }
@@ -2,6 +2,7 @@ package gui;
 
 import javax.swing.*;
 import java.util.Map;
+import java.util.Optional;
 
 public interface View {
     /**
@@ -20,6 +21,14 @@ public interface View {
      */
     void handleCellClick(Pair<Integer, Integer> cell);
 
+    /**
+     * Handles a click event on the given cell.
+     * @param cell The clicked cell.
+     */
+    default void handleCellClick(Cell cell) {
+        handleCellClick(cell.toPair());
+    }
+
     /**
      * Function for closing the application
      */
@@ -29,7 +38,29 @@ public interface View {
 
     /**
      * Return the cells of the grid
-     * @return a Map where the key are the grid button and the values are the coords of these
+     * @return a read-only Map where the key are the grid button and the values are the coords of these
      */
     Map<JButton, Pair<Integer, Integer>> getCells();
+
+    /**
+     * Return the button of a cell
+     * @param cell the position of the cell
+     * @return the button of the cell, or an empty Optional if the cell has no button
+     */
+    default Optional<JButton> getButton(Cell cell) {
+        var position = cell.toPair();
+        return getCells().entrySet().stream()
+                .filter(entry -> entry.getValue().equals(position))
+                .map(Map.Entry::getKey)
+                .findAny();
+    }
+
+    /**
+     * Return the button of a cell
+     * @param cell The (x, y) position of the cell.
+     * @return the button of the cell, or an empty Optional if the cell has no button
+     */
+    default Optional<JButton> getButton(Pair<Integer, Integer> cell) {
+        return getButton(Cell.of(cell));
+    }
 }
@@ -0,0 +1,235 @@
+package gui.logger;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A Logger handing records to a bounded lock-free ring buffer, drained in batches by a background thread
+ * that forwards them to another Logger. If the delegate is also {@link Flushable} it is flushed after each batch.
+ * Callers never wait for the delegate, and only wait for room in the buffer if the overflow policy says so.
+ */
+public class AsyncLogger implements Logger, AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 1 << 12;
+    public static final int DEFAULT_SAMPLING_PERIOD = 100;
+    private static final int BATCH_SIZE = 256;
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int IDLE_SPINS = 100;
+
+    private final Logger delegate;
+    private final OverflowPolicy policy;
+    private final int samplingPeriod;
+    private final int mask;
+    /*
+     * Slot i is free for position p when sequences[i] == p, and holds the record of position p
+     * when sequences[i] == p + 1 (bounded MPMC queue by D. Vyukov, with a single consumer).
+     */
+    private final AtomicLongArray sequences;
+    private final LogLevel[] levels;
+    private final String[] messages;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong overflows = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private long head = 0;
+    private volatile boolean closed = false;
+    /*
+     * The drainer sets sleeping before its last look at the buffer and parking, producers read it after publishing:
+     * either the drainer sees the record or the producer sees it sleeping and wakes it up.
+     */
+    private volatile boolean sleeping = false;
+    /*
+     * Set by the drainer once it stopped: records published later are reclaimed as dropped,
+     * by their producer or by close, whichever comes first.
+     */
+    private volatile boolean finished = false;
+    private final Thread drainer;
+
+    public AsyncLogger(Logger delegate) {
+        this(delegate, DEFAULT_CAPACITY, OverflowPolicy.BLOCK);
+    }
+
+    public AsyncLogger(Logger delegate, int capacity, OverflowPolicy policy) {
+        this(delegate, capacity, policy, DEFAULT_SAMPLING_PERIOD);
+    }
+
+    /**
+     * @param delegate the Logger receiving the records from the background thread
+     * @param capacity the size of the buffer, rounded up to a power of two and at least two
+     * @param policy what to do when the buffer is full
+     * @param samplingPeriod with {@link OverflowPolicy#SAMPLE}, one record out of this many is kept when the buffer is full
+     */
+    public AsyncLogger(Logger delegate, int capacity, OverflowPolicy policy, int samplingPeriod) {
+        if (capacity <= 0 || capacity > 1 << 30 || samplingPeriod <= 0) {
+            throw new IllegalArgumentException("Invalid capacity or sampling period");
+        }
+        this.delegate = Objects.requireNonNull(delegate);
+        this.policy = Objects.requireNonNull(policy);
+        this.samplingPeriod = samplingPeriod;
+        // with a single slot "published for p" and "free for p + 1" would be the same sequence
+        final int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+        this.levels = new LogLevel[size];
+        this.messages = new String[size];
+        this.drainer = new Thread(this::drain, "async-logger");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    @Override
+    public void log(LogLevel level, String message) {
+        if (this.closed) {
+            this.dropped.incrementAndGet();
+            return;
+        }
+        boolean mayWait = false;
+        long position = this.tail.get();
+        while (true) {
+            final int index = (int) (position & mask);
+            final long difference = this.sequences.get(index) - position;
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    this.levels[index] = level;
+                    this.messages[index] = message;
+                    this.sequences.set(index, position + 1);
+                    if (this.finished) {
+                        reclaim(position);
+                    } else if (this.sleeping) {
+                        LockSupport.unpark(this.drainer);
+                    }
+                    return;
+                }
+                position = this.tail.get();
+            } else if (difference < 0) {
+                if (!mayWait && !(mayWait = mayWaitOnOverflow())) {
+                    this.dropped.incrementAndGet();
+                    return;
+                }
+                if (this.closed) {
+                    this.dropped.incrementAndGet();
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_NANOS);
+                position = this.tail.get();
+            } else {
+                position = this.tail.get();
+            }
+        }
+    }
+
+    @Override
+    public boolean isEnabled(LogLevel level) {
+        return this.delegate.isEnabled(level);
+    }
+
+    /**
+     * @return how many records were discarded because the buffer was full or the logger closed
+     */
+    public long droppedCount() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Stop accepting records, and wait for the background thread to hand the buffered ones to the delegate.
+     * Records racing with the close and published after the last batch are counted as dropped.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        LockSupport.unpark(this.drainer);
+        try {
+            this.drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        for (long position = this.head; position < this.tail.get(); position++) {
+            reclaim(position);
+        }
+    }
+
+    Thread.State drainerState() {
+        return this.drainer.getState();
+    }
+
+    private void reclaim(long position) {
+        if (this.sequences.compareAndSet((int) (position & mask), position + 1, position + mask + 1)) {
+            this.dropped.incrementAndGet();
+        }
+    }
+
+    private boolean mayWaitOnOverflow() {
+        return switch (this.policy) {
+            case BLOCK -> true;
+            case DROP -> false;
+            case SAMPLE -> this.overflows.getAndIncrement() % this.samplingPeriod == 0;
+        };
+    }
+
+    /*
+     * When idle the drainer spins a little, then parks until a producer or close wakes it up.
+     */
+    private void drain() {
+        int idle = 0;
+        while (true) {
+            final boolean closing = this.closed;
+            if (drainBatch() > 0) {
+                idle = 0;
+            } else if (closing && this.head == this.tail.get()) {
+                break;
+            } else if (idle++ < IDLE_SPINS) {
+                Thread.onSpinWait();
+            } else {
+                this.sleeping = true;
+                if (!hasRecord() && !this.closed) {
+                    LockSupport.park(this);
+                }
+                this.sleeping = false;
+                idle = 0;
+            }
+        }
+        this.finished = true;
+    }
+
+    private boolean hasRecord() {
+        return this.sequences.get((int) (this.head & mask)) == this.head + 1;
+    }
+
+    private int drainBatch() {
+        int drained = 0;
+        while (drained < BATCH_SIZE) {
+            final int index = (int) (this.head & mask);
+            if (this.sequences.get(index) != this.head + 1) {
+                break;
+            }
+            final LogLevel level = this.levels[index];
+            final String message = this.messages[index];
+            this.levels[index] = null;
+            this.messages[index] = null;
+            this.sequences.set(index, this.head + mask + 1);
+            this.head++;
+            drained++;
+            try {
+                this.delegate.log(level, message);
+            } catch (RuntimeException e) {
+                // a failing sink must not stop the logging thread
+            }
+        }
+        if (drained > 0 && this.delegate instanceof Flushable flushable) {
+            try {
+                flushable.flush();
+            } catch (IOException e) {
+                // same as a failing record
+            }
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,84 @@
+package gui.logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Decodes the files written by a {@link MappedEventLog} back into events.
+ */
+public final class EventLogReader {
+
+    private EventLogReader() {
+    }
+
+    /**
+     * Read the events of every log file of a directory, in the order they were recorded
+     * @param directory the directory of the log
+     * @return the recorded events
+     */
+    public static List<GameEvent> readAll(Path directory) throws IOException {
+        final List<Path> files;
+        try (Stream<Path> found = logFiles(directory)) {
+            files = found.sorted().collect(Collectors.toList());
+        }
+        final List<GameEvent> events = new ArrayList<>();
+        for (Path file : files) {
+            events.addAll(read(file));
+        }
+        return events;
+    }
+
+    /**
+     * Read the events of a single log file
+     * @param file the log file
+     * @return the events recorded in the file
+     */
+    public static List<GameEvent> read(Path file) throws IOException {
+        final ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.remaining() < MappedEventLog.HEADER_SIZE
+                || buffer.getInt() != MappedEventLog.MAGIC
+                || buffer.getInt() != MappedEventLog.FORMAT_VERSION
+                || buffer.getInt() != MappedEventLog.RECORD_SIZE) {
+            throw new IOException("Not an event log: " + file);
+        }
+        buffer.getInt();
+        final LogLevel[] levels = LogLevel.values();
+        final EventType[] types = EventType.values();
+        final List<GameEvent> events = new ArrayList<>();
+        while (buffer.remaining() >= MappedEventLog.RECORD_SIZE) {
+            final long timestamp = buffer.getLong();
+            final int level = buffer.get();
+            final int type = buffer.get();
+            buffer.getShort();
+            final int x = buffer.getInt();
+            final int y = buffer.getInt();
+            final int counter = buffer.getInt();
+            if (type == 0) {
+                break;
+            }
+            if (level < 1 || level > levels.length || type < 1 || type > types.length) {
+                throw new IOException("Corrupted record in " + file);
+            }
+            events.add(new GameEvent(timestamp, levels[level - 1], types[type - 1], x, y, counter));
+        }
+        return events;
+    }
+
+    static Stream<Path> logFiles(Path directory) throws IOException {
+        return Files.list(directory)
+                .filter(path -> {
+                    final String name = path.getFileName().toString();
+                    return name.startsWith(MappedEventLog.PREFIX) && name.endsWith(MappedEventLog.SUFFIX);
+                });
+    }
+}
@@ -0,0 +1,21 @@
+package gui.logger;
+
+@FunctionalInterface
+public interface EventSink {
+    /**
+     * Record an event of the game
+     * @param level The level of the event
+     * @param type The type of the event
+     * @param x The x coordinate of the cell of the event
+     * @param y The y coordinate of the cell of the event
+     * @param counter The counter of the event, see {@link EventType}
+     */
+    void record(LogLevel level, EventType type, int x, int y, int counter);
+
+    /**
+     * @return a sink discarding every event
+     */
+    static EventSink none() {
+        return (level, type, x, y, counter) -> { };
+    }
+}
@@ -0,0 +1,24 @@
+package gui.logger;
+
+/*
+ * The events of a game recorded by an EventSink.
+ */
+public enum EventType {
+    /*
+     * A cell was marked: x and y are the cell, counter is its counter.
+     */
+    MARK,
+    /*
+     * The cells moved up-right: x and y are the clicked cell, or -1 for moves applied without a click,
+     * counter is the number of moves so far.
+     */
+    MOVE,
+    /*
+     * The last move ended the game: x and y are the clicked cell, counter is the number of moves.
+     */
+    GAME_OVER,
+    /*
+     * A cell was clicked after the end of the game: x and y are the clicked cell.
+     */
+    REJECTED
+}
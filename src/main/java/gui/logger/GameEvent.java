@@ -0,0 +1,7 @@
+package gui.logger;
+
+/*
+ * An event read back from an event log, with its timestamp in nanoseconds since the epoch.
+ */
+public record GameEvent(long timestamp, LogLevel level, EventType type, int x, int y, int counter) {
+}
@@ -1,6 +1,11 @@
 package gui.logger;
 
+/*
+ * Logging levels, from the most verbose to the most severe.
+ */
 public enum LogLevel {
+    TRACE,
+    DEBUG,
     INFO,
     ERROR
 }
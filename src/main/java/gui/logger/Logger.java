@@ -1,5 +1,7 @@
 package gui.logger;
 
+import java.util.function.Supplier;
+
 @FunctionalInterface
 public interface Logger {
     /**
@@ -8,4 +10,108 @@ public interface Logger {
      * @param message The message to print
      */
     void log(LogLevel level, String message);
+
+    /**
+     * Check if messages of a level are logged, so that building them can be skipped otherwise
+     * @param level The level of logging
+     * @return true if messages with this level are logged
+     */
+    default boolean isEnabled(LogLevel level) {
+        return true;
+    }
+
+    /**
+     * Log a message built from a template, only if the level is enabled
+     * @param level The level of logging
+     * @param template The message, where the first {} is replaced by the argument
+     * @param arg The argument of the template
+     */
+    default void log(LogLevel level, String template, Object arg) {
+        if (isEnabled(level)) {
+            log(level, format(template, arg));
+        }
+    }
+
+    /**
+     * Log a message built from a template, only if the level is enabled
+     * @param level The level of logging
+     * @param template The message, where the first two {} are replaced by the arguments
+     * @param arg1 The first argument of the template
+     * @param arg2 The second argument of the template
+     */
+    default void log(LogLevel level, String template, Object arg1, Object arg2) {
+        if (isEnabled(level)) {
+            log(level, format(template, arg1, arg2));
+        }
+    }
+
+    /**
+     * Log a message built only if the level is enabled
+     * @param level The level of logging
+     * @param message The supplier of the message
+     */
+    default void log(LogLevel level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            log(level, message.get());
+        }
+    }
+
+    /**
+     * Return a Logger ignoring the messages below a level
+     * @param threshold The lowest level that is logged
+     * @return a Logger forwarding to this one the messages at or above the threshold
+     */
+    default Logger atLeast(LogLevel threshold) {
+        final Logger sink = this;
+        return new Logger() {
+            @Override
+            public void log(LogLevel level, String message) {
+                if (isEnabled(level)) {
+                    sink.log(level, message);
+                }
+            }
+
+            @Override
+            public boolean isEnabled(LogLevel level) {
+                return level.compareTo(threshold) >= 0 && sink.isEnabled(level);
+            }
+        };
+    }
+
+    /**
+     * @return a Logger discarding every message, with every level disabled
+     */
+    static Logger none() {
+        return new Logger() {
+            @Override
+            public void log(LogLevel level, String message) {
+            }
+
+            @Override
+            public boolean isEnabled(LogLevel level) {
+                return false;
+            }
+        };
+    }
+
+    private static String format(String template, Object arg) {
+        final int placeholder = template.indexOf("{}");
+        return placeholder < 0
+                ? template
+                : template.substring(0, placeholder) + arg + template.substring(placeholder + 2);
+    }
+
+    // both placeholders are looked up in the template, so that a {} inside the first argument is kept as is
+    private static String format(String template, Object arg1, Object arg2) {
+        final int first = template.indexOf("{}");
+        if (first < 0) {
+            return template;
+        }
+        final int second = template.indexOf("{}", first + 2);
+        if (second < 0) {
+            return format(template, arg1);
+        }
+        return template.substring(0, first) + arg1 + template.substring(first + 2, second)
+                + arg2 + template.substring(second + 2);
+    }
 }
@@ -0,0 +1,119 @@
+package gui.logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+/**
+ * An EventSink writing fixed-size binary records into memory-mapped files.
+ * Each file holds a fixed number of records; when it is full the log rolls over to the next file
+ * of the directory. Files are read back with {@link EventLogReader}.
+ */
+public class MappedEventLog implements EventSink, Closeable {
+
+    static final int MAGIC = 0x47455654; // "GEVT"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    /*
+     * timestamp (8), level (1), type (1), padding (2), x (4), y (4), counter (4).
+     * Level and type are stored as ordinal + 1, so that a zero type marks the end of the written records.
+     */
+    static final int RECORD_SIZE = 24;
+    static final String PREFIX = "events-";
+    static final String SUFFIX = ".bin";
+
+    private final Path directory;
+    private final int recordsPerFile;
+    private final long epochNanos = System.currentTimeMillis() * 1_000_000L;
+    private final long startNanos = System.nanoTime();
+    private int fileIndex;
+    private MappedByteBuffer buffer;
+    private int recordsInFile;
+    private boolean closed = false;
+
+    /**
+     * @param directory the directory of the log files, created if missing
+     * @param recordsPerFile the number of records of each file
+     */
+    public MappedEventLog(Path directory, int recordsPerFile) throws IOException {
+        if (recordsPerFile <= 0 || (long) recordsPerFile * RECORD_SIZE + HEADER_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid number of records per file " + recordsPerFile);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.recordsPerFile = recordsPerFile;
+        // older files may have been deleted, so continue after the last one rather than counting them
+        try (Stream<Path> files = EventLogReader.logFiles(directory)) {
+            this.fileIndex = files.mapToInt(MappedEventLog::fileIndex).max().orElse(-1) + 1;
+        }
+        roll();
+    }
+
+    @Override
+    public synchronized void record(LogLevel level, EventType type, int x, int y, int counter) {
+        if (this.closed) {
+            throw new IllegalStateException("Event log closed");
+        }
+        if (this.recordsInFile == this.recordsPerFile) {
+            this.buffer.force();
+            try {
+                roll();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        this.buffer.putLong(epochNanos + System.nanoTime() - startNanos)
+                .put((byte) (level.ordinal() + 1))
+                .put((byte) (type.ordinal() + 1))
+                .putShort((short) 0)
+                .putInt(x)
+                .putInt(y)
+                .putInt(counter);
+        this.recordsInFile++;
+    }
+
+    /**
+     * Write the mapped records to the disk
+     */
+    public synchronized void force() {
+        this.buffer.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!this.closed) {
+            this.buffer.force();
+            this.buffer = null;
+            this.closed = true;
+        }
+    }
+
+    static Path fileName(Path directory, int index) {
+        return directory.resolve(String.format("%s%06d%s", PREFIX, index, SUFFIX));
+    }
+
+    private static int fileIndex(Path file) {
+        final String name = file.getFileName().toString();
+        try {
+            return Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void roll() throws IOException {
+        final Path file = fileName(this.directory, this.fileIndex++);
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_SIZE + (long) this.recordsPerFile * RECORD_SIZE);
+        }
+        this.buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(RECORD_SIZE).putInt(this.recordsPerFile);
+        this.recordsInFile = 0;
+    }
+}
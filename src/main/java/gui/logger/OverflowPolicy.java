@@ -0,0 +1,19 @@
+package gui.logger;
+
+/*
+ * What an AsyncLogger does with a record when its buffer is full.
+ */
+public enum OverflowPolicy {
+    /*
+     * Wait until the background thread makes room for the record.
+     */
+    BLOCK,
+    /*
+     * Discard the record.
+     */
+    DROP,
+    /*
+     * Discard the record, but wait for room for one record out of every sampling period.
+     */
+    SAMPLE
+}
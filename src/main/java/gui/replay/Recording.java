@@ -0,0 +1,93 @@
+package gui.replay;
+
+import gui.Cell;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * The cells clicked during a game, in order, together with the size of its grid.
+ * Clicks are kept as packed {@link Cell}s.
+ */
+public final class Recording {
+
+    private static final int MAGIC = 0x47524543; // "GREC"
+
+    private final int gridSize;
+    private final long[] clicks;
+
+    public Recording(int gridSize, long[] clicks) {
+        if (gridSize <= 0) {
+            throw new IllegalArgumentException("Invalid grid size " + gridSize);
+        }
+        this.gridSize = gridSize;
+        this.clicks = clicks.clone();
+    }
+
+    public int gridSize() {
+        return gridSize;
+    }
+
+    public int size() {
+        return clicks.length;
+    }
+
+    /**
+     * @param index the position of the click in the recording
+     * @return the packed cell of the click
+     */
+    public long clickAt(int index) {
+        return clicks[index];
+    }
+
+    /**
+     * Write the recording to a binary file
+     * @param file the file to write
+     */
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(gridSize);
+            out.writeInt(clicks.length);
+            for (long click : clicks) {
+                out.writeLong(click);
+            }
+        }
+    }
+
+    /**
+     * Read a recording written by {@link #write(Path)}
+     * @param file the file to read
+     * @return the recording in the file
+     */
+    public static Recording read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a recording: " + file);
+            }
+            final int gridSize = in.readInt();
+            final long[] clicks = new long[in.readInt()];
+            for (int i = 0; i < clicks.length; i++) {
+                clicks[i] = in.readLong();
+            }
+            return new Recording(gridSize, clicks);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Recording other && gridSize == other.gridSize && Arrays.equals(clicks, other.clicks);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * gridSize + Arrays.hashCode(clicks);
+    }
+
+    @Override
+    public String toString() {
+        return "Recording [gridSize=" + gridSize + ", clicks=" + clicks.length + "]";
+    }
+}
@@ -0,0 +1,94 @@
+package gui.replay;
+
+import gui.*;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * A Controller recording every cell it is asked to mark before handing it to another Controller.
+ * Marks are recorded even when the delegate rejects them, so that a replay meets the same errors.
+ */
+public class RecordingController implements Controller {
+
+    private final Controller delegate;
+    private final int gridSize;
+    private long[] clicks = new long[64];
+    private int size = 0;
+
+    public RecordingController(int gridSize, Controller delegate) {
+        this.gridSize = gridSize;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void mark(Pair<Integer, Integer> cell) {
+        record(Cell.pack(cell.x(), cell.y()));
+        this.delegate.mark(cell);
+    }
+
+    @Override
+    public void mark(Cell cell) {
+        record(cell.packed());
+        this.delegate.mark(cell);
+    }
+
+    /**
+     * @return the clicks recorded so far
+     */
+    public Recording recording() {
+        return new Recording(this.gridSize, Arrays.copyOf(this.clicks, this.size));
+    }
+
+    @Override
+    public boolean isOver() {
+        return this.delegate.isOver();
+    }
+
+    /*
+     * Every move is recorded as a click, which is how a replay moves the cells.
+     */
+    @Override
+    public int advance(int count) {
+        final int applied = this.delegate.advance(count);
+        final long anyCell = Cell.pack(0, 0);
+        for (int i = 0; i < applied; i++) {
+            record(anyCell);
+        }
+        return applied;
+    }
+
+    @Override
+    public OptionalInt remainingMoves() {
+        return this.delegate.remainingMoves();
+    }
+
+    @Override
+    public Map<Pair<Integer, Integer>, Integer> getMarkedCells() {
+        return this.delegate.getMarkedCells();
+    }
+
+    @Override
+    public void forEachMarked(CellConsumer consumer) {
+        this.delegate.forEachMarked(consumer);
+    }
+
+    @Override
+    public ChangeSet changesSince(long version) {
+        return this.delegate.changesSince(version);
+    }
+
+    @Override
+    public Optional<BoundingBox> boundingBox() {
+        return this.delegate.boundingBox();
+    }
+
+    private void record(long cell) {
+        if (this.size == this.clicks.length) {
+            this.clicks = Arrays.copyOf(this.clicks, this.size * 2);
+        }
+        this.clicks[this.size++] = cell;
+    }
+}
@@ -0,0 +1,73 @@
+package gui.replay;
+
+import gui.Cell;
+import gui.Controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Feeds a Recording into a Controller as fast as possible, without any View.
+ */
+public final class ReplayEngine {
+
+    private ReplayEngine() {
+    }
+
+    /**
+     * Replay a recording into a new controller
+     * @param recording the clicks to replay
+     * @param controllers creates a controller for a grid of the given size
+     * @return the outcome of the replay
+     */
+    public static ReplayResult replay(Recording recording, IntFunction<? extends Controller> controllers) {
+        return replay(recording, controllers.apply(recording.gridSize()));
+    }
+
+    /**
+     * Replay a recording into a controller
+     * @param recording the clicks to replay
+     * @param controller the controller receiving the clicks
+     * @return the outcome of the replay
+     */
+    public static ReplayResult replay(Recording recording, Controller controller) {
+        int marked = 0;
+        int rejected = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < recording.size(); i++) {
+            try {
+                controller.mark(new Cell(recording.clickAt(i)));
+                marked++;
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                rejected++;
+            }
+        }
+        final long elapsed = System.nanoTime() - start;
+        return new ReplayResult(marked, rejected, controller.isOver(), elapsed);
+    }
+
+    /**
+     * Replay the same recording into several controller implementations, to compare their throughput
+     * @param recording the clicks to replay
+     * @param implementations the factories of the controllers, by name
+     * @param runs how many times each implementation replays the recording, the first runs warming up the JVM
+     * @return the result of the last run of each implementation, by name
+     */
+    public static Map<String, ReplayResult> compare(Recording recording,
+                                                    Map<String, IntFunction<? extends Controller>> implementations,
+                                                    int runs) {
+        if (runs <= 0) {
+            throw new IllegalArgumentException("At least one run is needed");
+        }
+        final Map<String, ReplayResult> results = new LinkedHashMap<>();
+        implementations.forEach((name, controllers) -> {
+            ReplayResult result = null;
+            for (int run = 0; run < runs; run++) {
+                result = replay(recording, controllers);
+            }
+            results.put(name, result);
+        });
+        return results;
+    }
+}
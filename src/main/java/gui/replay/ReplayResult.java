@@ -0,0 +1,15 @@
+package gui.replay;
+
+/*
+ * The outcome of replaying a Recording: how many clicks were marked, how many were rejected
+ * because the game was over or the cell outside the grid, whether the game ended, and how long the replay took.
+ */
+public record ReplayResult(int marked, int rejected, boolean over, long elapsedNanos) {
+
+    /**
+     * @return the number of clicks replayed per second
+     */
+    public double throughput() {
+        return elapsedNanos == 0 ? Double.POSITIVE_INFINITY : (marked + rejected) * 1e9 / elapsedNanos;
+    }
+}
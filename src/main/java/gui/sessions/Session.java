@@ -0,0 +1,157 @@
+package gui.sessions;
+
+import gui.Cell;
+import gui.Controller;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A game running headless, receiving marks through a mailbox.
+ * The session is scheduled on an executor when its mailbox stops being empty, and processes the marks until
+ * it is empty again, so it holds no thread while idle. Only one task of a session runs at a time,
+ * so the controller needs no synchronization.
+ */
+public final class Session {
+
+    private record Command(long cell, long submittedNanos) {
+    }
+
+    private static final Command STOP = new Command(0, 0);
+    /*
+     * The commands a task processes before handing its thread back to the executor.
+     */
+    private static final int BATCH_SIZE = 64;
+
+    private final long id;
+    private final Controller controller;
+    private final Executor executor;
+    private final Consumer<Session> onFinished;
+    private final Queue<Command> mailbox = new ConcurrentLinkedQueue<>();
+    /*
+     * The commands queued and not processed yet: the submitter taking it from 0 schedules the session.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final Object lock = new Object();
+    private final long startNanos = System.nanoTime();
+    private boolean closed = false;
+    private long processed = 0;
+    private long rejected = 0;
+    private long totalLatencyNanos = 0;
+    private long maxLatencyNanos = 0;
+    private volatile SessionStats stats;
+
+    /**
+     * @param id the id of the session
+     * @param controller the game of the session
+     * @param executor runs the session while it has marks to process
+     * @param onFinished called with the session once it processed its last mark
+     */
+    Session(long id, Controller controller, Executor executor, Consumer<Session> onFinished) {
+        this.id = id;
+        this.controller = controller;
+        this.executor = executor;
+        this.onFinished = onFinished;
+        this.stats = new SessionStats(id, 0, 0, 0, 0, 0);
+    }
+
+    public long id() {
+        return id;
+    }
+
+    /**
+     * Queue a mark for the session
+     * @param cell the cell to mark
+     * @return false if the session is closed and the mark was not queued
+     */
+    public boolean submit(Cell cell) {
+        synchronized (this.lock) {
+            if (this.closed) {
+                return false;
+            }
+            enqueue(new Command(cell.packed(), System.nanoTime()));
+            return true;
+        }
+    }
+
+    /**
+     * @return the stats published after the last processed mark
+     */
+    public SessionStats stats() {
+        return this.stats;
+    }
+
+    /**
+     * Stop accepting marks and wait for the queued ones to be processed
+     */
+    public void close() {
+        synchronized (this.lock) {
+            if (!this.closed) {
+                this.closed = true;
+                enqueue(STOP);
+            }
+        }
+        try {
+            this.finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the controller of the session, which must only be used once the session is closed
+     */
+    public Controller controller() {
+        if (this.finished.getCount() != 0) {
+            throw new IllegalStateException("Session " + id + " is still running");
+        }
+        return controller;
+    }
+
+    private void enqueue(Command command) {
+        this.mailbox.add(command);
+        if (this.pending.getAndIncrement() == 0) {
+            this.executor.execute(this::run);
+        }
+    }
+
+    /*
+     * Every pending command was added to the mailbox before being counted, so polling never misses.
+     */
+    private void run() {
+        for (int batch = 0; batch < BATCH_SIZE; batch++) {
+            final Command command = this.mailbox.poll();
+            if (command == STOP) {
+                this.onFinished.accept(this);
+                this.finished.countDown();
+                return;
+            }
+            process(command);
+            if (this.pending.decrementAndGet() == 0) {
+                return;
+            }
+        }
+        this.executor.execute(this::run);
+    }
+
+    private void process(Command command) {
+        try {
+            this.controller.mark(new Cell(command.cell()));
+            this.processed++;
+        } catch (RuntimeException e) {
+            // a failing mark must not stop the session, or close would wait for it forever
+            this.rejected++;
+        }
+        final long now = System.nanoTime();
+        final long latency = now - command.submittedNanos();
+        this.totalLatencyNanos += latency;
+        this.maxLatencyNanos = Math.max(this.maxLatencyNanos, latency);
+        this.stats = new SessionStats(id, this.processed, this.rejected, this.totalLatencyNanos,
+                this.maxLatencyNanos, now - this.startNanos);
+    }
+}
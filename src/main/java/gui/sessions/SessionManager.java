@@ -0,0 +1,118 @@
+package gui.sessions;
+
+import gui.Controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Runs many independent games without any View, each one a {@link Session} with its own Controller.
+ * Sessions only take a thread of the executor while they have marks to process, so a few threads run
+ * many thousands of them. Closed sessions are forgotten, only their stats are kept in the aggregate.
+ */
+public class SessionManager implements AutoCloseable {
+
+    private final IntFunction<? extends Controller> controllers;
+    private final Executor executor;
+    private final ExecutorService ownExecutor;
+    private final Map<Long, Session> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+    private final Object retiring = new Object();
+    private SessionStats retired = SessionStats.aggregate(List.of());
+
+    /**
+     * Run the sessions on a pool of daemon threads, one per processor, shut down when the manager is closed
+     * @param controllers creates the controller of a session for a grid of the given size
+     */
+    public SessionManager(IntFunction<? extends Controller> controllers) {
+        this(controllers, Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), session -> {
+            final Thread thread = new Thread(session, "session");
+            thread.setDaemon(true);
+            return thread;
+        }), true);
+    }
+
+    /**
+     * @param controllers creates the controller of a session for a grid of the given size
+     * @param executor runs the sessions that have marks to process; it stays owned by the caller
+     */
+    public SessionManager(IntFunction<? extends Controller> controllers, Executor executor) {
+        this(controllers, executor, false);
+    }
+
+    private SessionManager(IntFunction<? extends Controller> controllers, Executor executor, boolean owned) {
+        this.controllers = controllers;
+        this.executor = executor;
+        this.ownExecutor = owned ? (ExecutorService) executor : null;
+    }
+
+    /**
+     * Start a new session
+     * @param gridSize the size of the grid of the session
+     * @return the started session
+     */
+    public Session open(int gridSize) {
+        final Session session = new Session(this.nextId.getAndIncrement(), this.controllers.apply(gridSize),
+                this.executor, this::retire);
+        this.sessions.put(session.id(), session);
+        return session;
+    }
+
+    private void retire(Session session) {
+        synchronized (this.retiring) {
+            this.retired = SessionStats.aggregate(List.of(this.retired, session.stats()));
+            this.sessions.remove(session.id());
+        }
+    }
+
+    /**
+     * @return the session with the given id, if it is still open
+     */
+    public Optional<Session> session(long id) {
+        return Optional.ofNullable(this.sessions.get(id));
+    }
+
+    /**
+     * @return the number of open sessions
+     */
+    public int size() {
+        return this.sessions.size();
+    }
+
+    /**
+     * @return the stats of every open session
+     */
+    public List<SessionStats> stats() {
+        return this.sessions.values().stream().map(Session::stats).toList();
+    }
+
+    /**
+     * @return the stats of all the sessions together, the closed ones included
+     */
+    public SessionStats aggregate() {
+        synchronized (this.retiring) {
+            final List<SessionStats> all = new ArrayList<>(stats());
+            all.add(this.retired);
+            return SessionStats.aggregate(all);
+        }
+    }
+
+    /**
+     * Close every session, waiting for their queued marks to be processed
+     */
+    @Override
+    public void close() {
+        List.copyOf(this.sessions.values()).forEach(Session::close);
+        if (this.ownExecutor != null) {
+            this.ownExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package gui.sessions;
+
+import java.util.Collection;
+
+/*
+ * Throughput and latency of a session, or of several sessions once aggregated.
+ * Latency is measured from the submission of a mark to the end of its processing.
+ */
+public record SessionStats(long sessionId, long processed, long rejected, long totalLatencyNanos,
+                           long maxLatencyNanos, long elapsedNanos) {
+
+    /*
+     * Id of aggregated stats.
+     */
+    public static final long AGGREGATE = -1;
+
+    public double meanLatencyNanos() {
+        return processed + rejected == 0 ? 0 : (double) totalLatencyNanos / (processed + rejected);
+    }
+
+    /**
+     * @return the number of marks handled per second
+     */
+    public double throughput() {
+        return elapsedNanos == 0 ? 0 : (processed + rejected) * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Sum the stats of several sessions running at the same time
+     * @param stats the stats of each session
+     * @return the stats of all the sessions together, over the longest elapsed time
+     */
+    public static SessionStats aggregate(Collection<SessionStats> stats) {
+        long processed = 0;
+        long rejected = 0;
+        long totalLatency = 0;
+        long maxLatency = 0;
+        long elapsed = 0;
+        for (SessionStats s : stats) {
+            processed += s.processed;
+            rejected += s.rejected;
+            totalLatency += s.totalLatencyNanos;
+            maxLatency = Math.max(maxLatency, s.maxLatencyNanos);
+            elapsed = Math.max(elapsed, s.elapsedNanos);
+        }
+        return new SessionStats(AGGREGATE, processed, rejected, totalLatency, maxLatency, elapsed);
+    }
+}
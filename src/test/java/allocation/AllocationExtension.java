@@ -0,0 +1,33 @@
+package allocation;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Gives an AllocationMeter to the tests that take one as a parameter,
+ * and disables them on JVMs that can't measure the allocated bytes of a thread.
+ */
+public class AllocationExtension implements ParameterResolver, ExecutionCondition {
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        return AllocationMeter.isSupported()
+                ? ConditionEvaluationResult.enabled("Thread allocation is measurable")
+                : ConditionEvaluationResult.disabled("Thread allocation is not measurable on this JVM");
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == AllocationMeter.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return new AllocationMeter((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean());
+    }
+}
@@ -0,0 +1,55 @@
+package allocation;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the bytes allocated by the current thread, through com.sun.management.ThreadMXBean.
+ * Obtained as a test parameter from AllocationExtension, which skips the tests when the JVM can't measure.
+ */
+public final class AllocationMeter {
+
+    private static final int WARMUP = 1_000;
+
+    private final com.sun.management.ThreadMXBean threads;
+
+    AllocationMeter(com.sun.management.ThreadMXBean threads) {
+        this.threads = threads;
+    }
+
+    static boolean isSupported() {
+        return ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported();
+    }
+
+    /**
+     * Run the action some times to warm it up, then measure it
+     * @param invocations how many times the action is measured
+     * @param action the action to measure
+     * @return the mean number of bytes allocated by one invocation
+     */
+    public double bytesPerInvocation(int invocations, Runnable action) {
+        if (invocations <= 0) {
+            throw new IllegalArgumentException("Cannot measure " + invocations + " invocations");
+        }
+        this.threads.setThreadAllocatedMemoryEnabled(true);
+        for (int i = 0; i < WARMUP; i++) {
+            action.run();
+        }
+        final long before = this.threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < invocations; i++) {
+            action.run();
+        }
+        return (double) (this.threads.getCurrentThreadAllocatedBytes() - before) / invocations;
+    }
+
+    /**
+     * Check that an action allocates, on average, no more than the given budget
+     * @param budget the maximum number of bytes for a single invocation
+     */
+    public void assertBudget(long budget, int invocations, Runnable action) {
+        final double allocated = bytesPerInvocation(invocations, action);
+        assertTrue(allocated <= budget, () -> "Allocated " + allocated + " bytes per invocation, budget is " + budget);
+    }
+}
@@ -0,0 +1,31 @@
+package allocation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(AllocationExtension.class)
+class AllocationMeterTest {
+
+    private Object last;
+
+    @Test
+    @DisplayName("Allocated arrays are measured")
+    void measureArrays(AllocationMeter meter) {
+        assertTrue(meter.bytesPerInvocation(100, () -> this.last = new byte[1024]) >= 1024);
+    }
+
+    @Test
+    @DisplayName("Exceeding the budget fails")
+    void exceedBudget(AllocationMeter meter) {
+        assertThrows(AssertionError.class, () -> meter.assertBudget(64, 100, () -> this.last = new long[64]));
+    }
+
+    @Test
+    @DisplayName("At least one invocation is measured")
+    void noInvocations(AllocationMeter meter) {
+        assertThrows(IllegalArgumentException.class, () -> meter.bytesPerInvocation(0, () -> {}));
+    }
+}
@@ -0,0 +1,86 @@
+package devices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentRandomFailingTest {
+
+    private static List<Boolean> attempts(FailingPolicy policy, int count) {
+        final List<Boolean> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            result.add(policy.attemptOn());
+            if (i % 3 == 2) {
+                policy.reset();
+            }
+        }
+        return result;
+    }
+
+    @Nested
+    class Failing {
+        @Test
+        @DisplayName("Once failed the policy stays failed until reset")
+        void staysFailed() {
+            final FailingPolicy policy = new ConcurrentRandomFailing();
+            while (policy.attemptOn()) {
+                // eventually fails
+            }
+            assertFalse(policy.attemptOn());
+            final FailingPolicy seeded = new ConcurrentRandomFailing(42);
+            while (seeded.attemptOn()) {
+                // eventually fails
+            }
+            assertFalse(seeded.attemptOn());
+        }
+
+        @Test
+        @DisplayName("The same seed gives the same attempts")
+        void reproducible() {
+            assertEquals(attempts(new ConcurrentRandomFailing(7), 100), attempts(new ConcurrentRandomFailing(7), 100));
+            assertEquals("random", new ConcurrentRandomFailing(7).policyName());
+        }
+    }
+
+    @Nested
+    class Sharing {
+        @Test
+        @DisplayName("Devices switched on from many threads see the shared failure")
+        void sharedFailure() throws InterruptedException {
+            final FailingPolicy policy = new ConcurrentRandomFailing();
+            final int threads = 8;
+            final CountDownLatch failed = new CountDownLatch(1);
+            final AtomicInteger onAfterFailure = new AtomicInteger();
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    final Device device = new StandardDevice(policy);
+                    for (int i = 0; i < 1_000; i++) {
+                        try {
+                            device.on();
+                            if (failed.getCount() == 0 && policy.attemptOn()) {
+                                onAfterFailure.incrementAndGet();
+                            }
+                        } catch (IllegalStateException e) {
+                            failed.countDown();
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            assertEquals(0, failed.getCount());
+            assertEquals(0, onAfterFailure.get());
+        }
+    }
+}
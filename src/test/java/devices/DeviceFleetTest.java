@@ -0,0 +1,103 @@
+package devices;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class DeviceFleetTest {
+
+    private static final int FLEET_SIZE = 3 * DeviceFleet.CHUNK + 17;
+
+    /*
+     * Fails on every attempt of the devices whose index is a multiple of three.
+     */
+    private static FailingPolicy policyOf(int index) {
+        return new FailingPolicy() {
+            @Override
+            public boolean attemptOn() {
+                return index % 3 != 0;
+            }
+
+            @Override
+            public void reset() {}
+
+            @Override
+            public String policyName() {
+                return "every third";
+            }
+        };
+    }
+
+    private DeviceFleet fleet;
+
+    @BeforeEach
+    void init() {
+        final List<Device> devices = new ArrayList<>();
+        IntStream.range(0, FLEET_SIZE).forEach(i -> devices.add(new StandardDevice(policyOf(i))));
+        fleet = new DeviceFleet(devices);
+    }
+
+    @Nested
+    class SwitchingOn {
+        @Test
+        @DisplayName("Failing devices are reported instead of throwing")
+        void testReportFailures() {
+            final FleetResult result = fleet.on();
+            assertEquals(FLEET_SIZE, result.size());
+            for (int i = 0; i < FLEET_SIZE; i++) {
+                assertEquals(i % 3 != 0, result.isOn(i));
+                assertEquals(i % 3 == 0, result.hasFailed(i));
+                assertEquals(i % 3 != 0, fleet.device(i).isOn());
+            }
+            assertEquals(FLEET_SIZE / 3 + 1, result.failedCount());
+            assertEquals(FLEET_SIZE - result.failedCount(), result.onCount());
+            assertEquals(result.onCount(), result.switchedOn().cardinality());
+            assertEquals(result.failedCount(), result.failures().cardinality());
+        }
+
+        @Test
+        @DisplayName("Devices outside the fleet can't be queried")
+        void testOutOfFleet() {
+            final FleetResult result = fleet.on();
+            assertThrows(IndexOutOfBoundsException.class, () -> result.isOn(FLEET_SIZE));
+            assertThrows(IndexOutOfBoundsException.class, () -> result.hasFailed(-1));
+        }
+
+        @Test
+        @DisplayName("An empty fleet gives an empty result")
+        void testEmptyFleet() {
+            assertEquals(0, new DeviceFleet(List.of()).on().onCount());
+        }
+    }
+
+    @Nested
+    class SwitchingOffAndReset {
+        @Test
+        @DisplayName("Every device is switched off")
+        void testOff() {
+            fleet.on();
+            fleet.off();
+            IntStream.range(0, FLEET_SIZE).forEach(i -> assertFalse(fleet.device(i).isOn()));
+        }
+
+        @Test
+        @DisplayName("Every device is reset")
+        void testReset() {
+            final FailingPolicy policy = mock(FailingPolicy.class);
+            final DeviceFleet single = new DeviceFleet(List.of(new StandardDevice(policy)));
+            when(policy.attemptOn()).thenReturn(true);
+            single.on();
+            single.reset();
+            assertFalse(single.device(0).isOn());
+            verify(policy).reset();
+        }
+    }
+}
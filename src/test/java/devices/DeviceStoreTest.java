@@ -0,0 +1,130 @@
+package devices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeviceStoreTest {
+
+    private static final int STORE_SIZE = 1_000;
+
+    @Nested
+    class StoreInitialization {
+        @Test
+        @DisplayName("Devices are initially off and not failed")
+        void testInitiallyOff() {
+            DeviceStore store = new DeviceStore(STORE_SIZE, 0.5);
+            assertEquals(0, store.countOn());
+            assertEquals(0, store.countFailed());
+            assertFalse(store.device(STORE_SIZE - 1).isOn());
+        }
+
+        @Test
+        @DisplayName("The failure probability must be a probability")
+        void testInvalidProbability() {
+            assertThrows(IllegalArgumentException.class, () -> new DeviceStore(STORE_SIZE, 1.5));
+            assertThrows(IllegalArgumentException.class, () -> new DeviceStore(STORE_SIZE, Double.NaN));
+            assertThrows(IllegalArgumentException.class, () -> new DeviceStore(-1, 0.5));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new DeviceStore(STORE_SIZE, 0.5).setFailureProbability(0, -0.1));
+        }
+
+        @Test
+        @DisplayName("Devices outside the store can't be reached")
+        void testOutOfStore() {
+            DeviceStore store = new DeviceStore(STORE_SIZE, 0.5);
+            assertThrows(IndexOutOfBoundsException.class, () -> store.device(STORE_SIZE));
+            assertThrows(IndexOutOfBoundsException.class, () -> store.tryOn(-1));
+        }
+    }
+
+    @Nested
+    class DeviceViews {
+        @Test
+        @DisplayName("Views switch on and off the devices of the store")
+        void testSwitchOnAndOff() {
+            DeviceStore store = new DeviceStore(STORE_SIZE, 0);
+            Device device = store.device(3);
+            device.on();
+            assertTrue(device.isOn());
+            assertTrue(store.isOn(3));
+            assertEquals(1, store.countOn());
+            device.off();
+            assertFalse(store.isOn(3));
+        }
+
+        @Test
+        @DisplayName("A failed device stays failed until reset")
+        void testFailure() {
+            DeviceStore store = new DeviceStore(STORE_SIZE, 1);
+            Device device = store.device(7);
+            assertThrows(IllegalStateException.class, device::on);
+            store.setFailureProbability(7, 0);
+            assertFalse(device.tryOn());
+            assertTrue(store.hasFailed(7));
+            device.reset();
+            assertTrue(device.tryOn());
+            assertFalse(store.tryOn(8));
+        }
+    }
+
+    @Nested
+    class BulkOperations {
+        @Test
+        @DisplayName("Switching on all devices reports the failed ones")
+        void testOnAll() {
+            DeviceStore store = new DeviceStore(STORE_SIZE, 0);
+            IntStream.range(0, STORE_SIZE).filter(i -> i % 4 == 0).forEach(i -> store.setFailureProbability(i, 1));
+            FleetResult result = store.onAll();
+            assertEquals(STORE_SIZE / 4, result.failedCount());
+            assertEquals(STORE_SIZE - STORE_SIZE / 4, store.countOn());
+            assertTrue(result.hasFailed(0));
+            assertTrue(result.isOn(1));
+            assertEquals(1.0, store.failureProbability(4));
+            assertEquals(0.0, store.failureProbability(5));
+        }
+
+        @Test
+        @DisplayName("Resetting the failed devices lets them switch on again")
+        void testResetAllFailed() {
+            DeviceStore store = new DeviceStore(STORE_SIZE, 0.5, 42);
+            store.onAll();
+            int failed = store.countFailed();
+            assertTrue(failed > 0);
+            assertEquals(STORE_SIZE, store.countOn() + failed);
+            store.resetAllFailed();
+            assertEquals(0, store.countFailed());
+            assertEquals(STORE_SIZE - failed, store.countOn());
+            store.offAll();
+            assertEquals(0, store.countOn());
+            store.onAll();
+            store.resetAll();
+            assertEquals(0, store.countOn() + store.countFailed());
+        }
+
+        @Test
+        @DisplayName("Switching on a device already on never fails it")
+        void testOnAgain() {
+            DeviceStore store = new DeviceStore(STORE_SIZE, 0, 42);
+            assertTrue(store.tryOn(3));
+            store.setFailureProbability(3, 1);
+            assertTrue(store.tryOn(3));
+            assertFalse(store.hasFailed(3));
+            store.resetAllFailed();
+            assertTrue(store.isOn(3));
+            assertEquals(1, store.countOn());
+            assertEquals(0, store.countFailed());
+        }
+
+        @Test
+        @DisplayName("The same seed gives the same failures")
+        void testReproducible() {
+            assertEquals(new DeviceStore(STORE_SIZE, 0.3, 7).onAll().failures(),
+                    new DeviceStore(STORE_SIZE, 0.3, 7).onAll().failures());
+        }
+    }
+}
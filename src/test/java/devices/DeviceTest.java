@@ -148,4 +148,36 @@ public class DeviceTest {
             verify(stubFailingPolicy, times(3)).attemptOn();
         }
     }
+
+    @Nested
+    class TryingOn {
+        private Device device;
+
+        @BeforeEach
+        void init() {
+            device = new StandardDevice(stubFailingPolicy);
+            when(stubFailingPolicy.attemptOn()).thenReturn(true, false);
+        }
+
+        @Test
+        @DisplayName("Trying to switch on reports the failure instead of throwing")
+        void testTryOn() {
+            assertTrue(device.tryOn());
+            assertTrue(device.isOn());
+            device.off();
+            assertFalse(device.tryOn());
+            assertFalse(device.isOn());
+            verify(stubFailingPolicy, times(2)).attemptOn();
+        }
+
+        @Test
+        @DisplayName("By default trying to switch on catches the failure of on")
+        void testDefaultTryOn() {
+            Device failing = mock(Device.class, CALLS_REAL_METHODS);
+            doThrow(new IllegalStateException()).when(failing).on();
+            assertFalse(failing.tryOn());
+            doNothing().when(failing).on();
+            assertTrue(failing.tryOn());
+        }
+    }
 }
@@ -0,0 +1,125 @@
+package devices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduledFailingTest {
+
+    private static final int ATTEMPTS = 1_000;
+
+    private static void assertSameFailures(ScheduledFailing expected, ScheduledFailing actual, int attempts) {
+        LongStream.range(0, attempts).forEach(i -> assertEquals(expected.failsAt(i), actual.failsAt(i), "attempt " + i));
+    }
+
+    @Nested
+    class Policies {
+        @Test
+        @DisplayName("Fail after N attempts")
+        void testAfter() {
+            FailingPolicy policy = ScheduledFailing.after(2);
+            Device device = new StandardDevice(policy);
+            assertTrue(device.tryOn());
+            assertTrue(device.tryOn());
+            assertThrows(IllegalStateException.class, device::on);
+            device.reset();
+            assertTrue(device.tryOn());
+            assertEquals("after-2", policy.policyName());
+        }
+
+        @Test
+        @DisplayName("Fail every k attempts")
+        void testEvery() {
+            ScheduledFailing policy = ScheduledFailing.every(3);
+            assertEquals(ATTEMPTS / 3, IntStream.range(0, ATTEMPTS).filter(i -> !policy.attemptOn()).count());
+            assertTrue(policy.failsAt(2));
+            assertFalse(policy.failsAt(3));
+            assertEquals(ATTEMPTS, policy.attempt());
+        }
+
+        @Test
+        @DisplayName("Fail inside a window of attempts")
+        void testAttemptWindow() {
+            ScheduledFailing policy = ScheduledFailing.attemptWindow(5, 8);
+            assertFalse(policy.failsAt(4));
+            assertTrue(policy.failsAt(5));
+            assertTrue(policy.failsAt(7));
+            assertFalse(policy.failsAt(8));
+        }
+
+        @Test
+        @DisplayName("Fail with a probability, the same way for the same seed")
+        void testProbability() {
+            long failures = LongStream.range(0, ATTEMPTS)
+                    .filter(ScheduledFailing.withProbability(0.25, 42)::failsAt).count();
+            assertTrue(failures > ATTEMPTS / 8 && failures < ATTEMPTS * 3 / 8);
+            assertSameFailures(ScheduledFailing.withProbability(0.25, 42), ScheduledFailing.withProbability(0.25, 42), ATTEMPTS);
+            assertFalse(ScheduledFailing.withProbability(0, 42).failsAt(0));
+            assertTrue(ScheduledFailing.withProbability(1, 42).failsAt(0));
+        }
+
+        @Test
+        @DisplayName("Invalid parameters are rejected")
+        void testInvalid() {
+            assertThrows(IllegalArgumentException.class, () -> ScheduledFailing.after(-1));
+            assertThrows(IllegalArgumentException.class, () -> ScheduledFailing.every(0));
+            assertThrows(IllegalArgumentException.class, () -> ScheduledFailing.attemptWindow(3, 2));
+            assertThrows(IllegalArgumentException.class, () -> ScheduledFailing.withProbability(2, 0));
+            assertThrows(IllegalArgumentException.class, () -> ScheduledFailing.after(1).schedule(-1));
+        }
+    }
+
+    @Nested
+    class Composites {
+        @Test
+        @DisplayName("And fails when both fail, or when either fails")
+        void testAndOr() {
+            ScheduledFailing both = ScheduledFailing.every(2).and(ScheduledFailing.attemptWindow(0, 10));
+            ScheduledFailing either = ScheduledFailing.every(2).or(ScheduledFailing.attemptWindow(0, 10));
+            assertTrue(both.failsAt(1));
+            assertFalse(both.failsAt(11));
+            assertFalse(both.failsAt(2));
+            assertTrue(either.failsAt(2));
+            assertTrue(either.failsAt(11));
+            assertFalse(either.failsAt(12));
+            assertEquals("(every-2 or attempt-window-[0,10))", either.policyName());
+        }
+    }
+
+    @Nested
+    class Schedules {
+        @Test
+        @DisplayName("Sparse failures are stored as runs, dense ones as a bitmap")
+        void testForms() {
+            FailureSchedule runs = ScheduledFailing.after(ATTEMPTS / 2).schedule(ATTEMPTS);
+            FailureSchedule bitmap = ScheduledFailing.every(2).schedule(ATTEMPTS);
+            assertTrue(runs.isRunLength());
+            assertFalse(bitmap.isRunLength());
+            assertSameFailures(ScheduledFailing.after(ATTEMPTS / 2), runs, ATTEMPTS);
+            assertSameFailures(ScheduledFailing.every(2), bitmap, ATTEMPTS);
+        }
+
+        @Test
+        @DisplayName("A schedule replays its policy, also past the precomputed attempts")
+        void testReplay() {
+            ScheduledFailing policy = ScheduledFailing.withProbability(0.5, 7).or(ScheduledFailing.attemptWindow(100, 300));
+            FailureSchedule schedule = policy.schedule(ATTEMPTS);
+            assertEquals(ATTEMPTS, schedule.length());
+            assertSameFailures(policy, schedule, 2 * ATTEMPTS);
+            assertSame(schedule, schedule.schedule(ATTEMPTS));
+            assertEquals("schedule(" + policy.policyName() + ")", schedule.policyName());
+        }
+
+        @Test
+        @DisplayName("An empty schedule asks the policy")
+        void testEmpty() {
+            FailureSchedule schedule = ScheduledFailing.after(3).schedule(0);
+            assertSameFailures(ScheduledFailing.after(3), schedule, 10);
+        }
+    }
+}
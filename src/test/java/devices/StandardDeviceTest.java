@@ -5,6 +5,9 @@ import java.util.stream.IntStream;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import allocation.AllocationExtension;
+import allocation.AllocationMeter;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import static org.mockito.Mockito.*;
 
@@ -150,4 +153,59 @@ public class StandardDeviceTest {
             verify(this.mockFailingPolicy, times(3)).attemptOn();
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @ExtendWith(AllocationExtension.class)
+    class ShowcaseAllocation {
+        @BeforeEach
+        void init(){
+            // a hand-written policy, so that no mocking is measured
+            device = new StandardDevice(new FailingPolicy() {
+                @Override
+                public boolean attemptOn() {
+                    return true;
+                }
+
+                @Override
+                public void reset() {}
+
+                @Override
+                public String policyName() {
+                    return "always";
+                }
+            });
+        }
+
+        @Test
+        @DisplayName("Switching on, off and resetting allocates less than an object")
+        void testNoAllocation(AllocationMeter meter) {
+            meter.assertBudget(8, 10_000, () -> {
+                device.on();
+                device.off();
+                device.reset();
+            });
+            assertFalse(device.isOn());
+        }
+
+        @Test
+        @DisplayName("A failing attempt to switch on allocates less than an object")
+        void testFailingTryOnNoAllocation(AllocationMeter meter) {
+            device = new StandardDevice(new FailingPolicy() {
+                @Override
+                public boolean attemptOn() {
+                    return false;
+                }
+
+                @Override
+                public void reset() {}
+
+                @Override
+                public String policyName() {
+                    return "never";
+                }
+            });
+            meter.assertBudget(8, 10_000, () -> device.tryOn());
+            assertFalse(device.tryOn());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package gui;
+
+import gui.logger.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitsetControllerTest extends ControllerTest {
+
+    private static final int LARGE_SIZE = 1000;
+
+    @Override
+    protected Controller createController(int gridSize, Logger logger) {
+        return new BitsetController(gridSize, logger);
+    }
+
+    @Nested
+    class BitsetStorage {
+        private final Controller largeController = new BitsetController(LARGE_SIZE, (level, message) -> {});
+
+        @Test
+        @DisplayName("Cells are stored across the whole bitset")
+        void markCellsOnLargeGrid() {
+            largeController.mark(new Pair<>(0, 0));
+            largeController.mark(new Pair<>(LARGE_SIZE - 1, LARGE_SIZE - 1));
+            assertEquals(0, largeController.getMarkedCells().get(new Pair<>(0, 0)));
+            assertEquals(1, largeController.getMarkedCells().get(new Pair<>(LARGE_SIZE - 1, LARGE_SIZE - 1)));
+        }
+
+        @Test
+        @DisplayName("Marking a marked cell again changes nothing")
+        void remarkKeepsCounter() {
+            largeController.mark(Cell.of(3, 3));
+            largeController.mark(Cell.of(6, 6));
+            long version = largeController.changesSince(ChangeSet.NO_VERSION).version();
+            largeController.mark(Cell.of(3, 3));
+            assertEquals(Map.of(new Pair<>(3, 3), 0, new Pair<>(6, 6), 1), largeController.getMarkedCells());
+            assertEquals(version, largeController.changesSince(ChangeSet.NO_VERSION).version());
+        }
+
+        @Test
+        @DisplayName("Marked cells can't be modified from outside")
+        void markedCellsAreReadOnly() {
+            largeController.mark(new Pair<>(2, 2));
+            assertThrows(UnsupportedOperationException.class,
+                    () -> largeController.getMarkedCells().put(new Pair<>(5, 5), 1));
+        }
+    }
+
+    @Nested
+    class SparseStorage {
+        private static final int HUGE_SIZE = 100_000;
+        private final BitsetController hugeController = new BitsetController(HUGE_SIZE, Logger.none());
+
+        @Test
+        @DisplayName("Huge grids start with sparse storage")
+        void hugeGridsAreSparse() {
+            assertTrue(hugeController.isSparse());
+            assertFalse(new BitsetController(LARGE_SIZE, Logger.none()).isSparse());
+        }
+
+        @Test
+        @DisplayName("Cells far apart are stored with their counters")
+        void markFarCells() {
+            hugeController.mark(Cell.of(3, HUGE_SIZE - 2));
+            hugeController.mark(Cell.of(HUGE_SIZE - 1, 17));
+            assertEquals(Map.of(new Pair<>(3, HUGE_SIZE - 2), 0, new Pair<>(HUGE_SIZE - 1, 17), 1),
+                    hugeController.getMarkedCells());
+        }
+
+        @Test
+        @DisplayName("Marking a marked cell again keeps its counter")
+        void remarkKeepsCounter() {
+            hugeController.mark(Cell.of(3, 3));
+            hugeController.mark(Cell.of(60, 60));
+            hugeController.mark(Cell.of(3, 3));
+            assertEquals(Map.of(new Pair<>(3, 3), 0, new Pair<>(60, 60), 1), hugeController.getMarkedCells());
+        }
+
+        @Test
+        @DisplayName("Adjacency is detected across tile borders")
+        void adjacentAcrossTiles() {
+            final int border = SparseGridStore.TILE_SIZE * 10;
+            hugeController.mark(Cell.of(border - 1, border - 1));
+            hugeController.mark(Cell.of(border, border));
+            assertEquals(Map.of(new Pair<>(border, border - 2), 0), hugeController.getMarkedCells());
+        }
+
+        @Test
+        @DisplayName("Sparse storage becomes dense when it would take more memory")
+        void switchToDense() {
+            final int size = 1100;
+            final BitsetController controller = new BitsetController(size, Logger.none());
+            assertTrue(controller.isSparse());
+            int marked = 0;
+            for (int y = 0; y < size; y += SparseGridStore.TILE_SIZE) {
+                for (int x = 0; x < size; x += SparseGridStore.TILE_SIZE) {
+                    controller.mark(Cell.of(x, y));
+                    marked++;
+                }
+            }
+            assertFalse(controller.isSparse());
+            assertEquals(marked, controller.getMarkedCells().size());
+            assertEquals(marked - 1, controller.getMarkedCells().get(new Pair<>(1088, 1088)));
+        }
+    }
+}
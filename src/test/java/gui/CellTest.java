@@ -0,0 +1,42 @@
+package gui;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CellTest {
+
+    @Test
+    @DisplayName("Coordinates survive packing, negative ones included")
+    void packAndUnpack() {
+        var cell = Cell.of(-3, 7);
+        assertEquals(-3, cell.x());
+        assertEquals(7, cell.y());
+        assertEquals(-1, Cell.x(Cell.pack(-1, -1)));
+        assertEquals(-1, Cell.y(Cell.pack(-1, -1)));
+        assertEquals(Integer.MIN_VALUE, Cell.y(Cell.pack(Integer.MAX_VALUE, Integer.MIN_VALUE)));
+    }
+
+    @Test
+    @DisplayName("Cells convert to and from the equivalent Pair")
+    void pairAdapters() {
+        var pair = new Pair<>(4, 2);
+        assertEquals(pair, Cell.of(pair).toPair());
+        assertEquals(Cell.of(4, 2), Cell.of(pair));
+    }
+
+    @Test
+    @DisplayName("Cells on a diagonal spread over the buckets of a hash table")
+    void diagonalHashes() {
+        final int cells = 1 << 16;
+        long buckets = IntStream.range(0, cells)
+                .map(i -> Cell.of(i, i).hashCode())
+                .map(h -> (h ^ (h >>> 16)) & (cells - 1))
+                .distinct()
+                .count();
+        assertTrue(buckets > cells / 2, () -> "Only " + buckets + " buckets used by " + cells + " cells");
+    }
+}
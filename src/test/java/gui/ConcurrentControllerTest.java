@@ -0,0 +1,88 @@
+package gui;
+
+import gui.logger.Logger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentControllerTest extends ControllerTest {
+
+    private static final int LARGE_SIZE = 200;
+
+    @Override
+    protected Controller createController(int gridSize, Logger logger) {
+        return new ConcurrentController(new ControllerImpl(gridSize, logger));
+    }
+
+    /*
+     * Every mark publishes a new snapshot, which shares the cells with the previous one.
+     */
+    @Override
+    protected long moveAllocationBudget() {
+        return 256;
+    }
+
+    @Nested
+    class ConcurrentReads {
+        @Test
+        @DisplayName("Readers always see a consistent snapshot while cells are marked")
+        void readWhileMarking() throws InterruptedException {
+            var concurrent = new ConcurrentController(new BitsetController(LARGE_SIZE, Logger.none()));
+            var done = new AtomicBoolean(false);
+            var failure = new AtomicReference<Throwable>();
+            var reader = new Thread(() -> {
+                int lastSize = 0;
+                try {
+                    while (!done.get()) {
+                        var snapshot = concurrent.snapshot();
+                        var marked = snapshot.cells();
+                        assertTrue(marked.size() >= lastSize);
+                        assertEquals(marked.isEmpty(), snapshot.boundingBox().isEmpty());
+                        snapshot.boundingBox().ifPresent(box -> {
+                            marked.keySet().forEach(cell -> {
+                                assertTrue(cell.x() >= box.minX() && cell.x() <= box.maxX());
+                                assertTrue(cell.y() >= box.minY() && cell.y() <= box.maxY());
+                            });
+                            assertEquals(snapshot.isOver(), !box.isInside(LARGE_SIZE));
+                        });
+                        lastSize = marked.size();
+                    }
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            });
+            reader.start();
+            for (int x = 0; x < LARGE_SIZE; x += 2) {
+                for (int y = 0; y < LARGE_SIZE; y += 20) {
+                    concurrent.mark(Cell.of(x, y));
+                }
+            }
+            assertEquals(100 * 10, concurrent.getMarkedCells().size());
+            while (!concurrent.isOver()) {
+                concurrent.mark(Cell.of(1, 0));
+            }
+            done.set(true);
+            reader.join();
+            assertNull(failure.get());
+            assertEquals(100 * 10, concurrent.getMarkedCells().size());
+        }
+
+        @Test
+        @DisplayName("The changes of the last mark are reported from the previous version")
+        void changesOfLastMark() {
+            var concurrent = new ConcurrentController(new ControllerImpl(8, Logger.none()));
+            concurrent.mark(Cell.of(1, 1));
+            long version = concurrent.changesSince(ChangeSet.NO_VERSION).version();
+            concurrent.mark(Cell.of(5, 5));
+            var changes = concurrent.changesSince(version);
+            assertFalse(changes.isFull());
+            assertEquals(1, changes.addedCount());
+            assertEquals(0, concurrent.changesSince(changes.version()).addedCount());
+        }
+    }
+}
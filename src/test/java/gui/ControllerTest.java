@@ -1,11 +1,21 @@
 package gui;
 
+import allocation.AllocationExtension;
+import allocation.AllocationMeter;
 import gui.logger.LogLevel;
 import gui.logger.Logger;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Spy;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.function.Supplier;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.verify;
 import org.mockito.MockitoAnnotations;
@@ -22,7 +32,46 @@ class ControllerTest {
     @BeforeEach
     void setUp() {
         mocks = MockitoAnnotations.openMocks(this);
-        controller = new ControllerImpl(TEST_SIZE, spyLogger);
+        controller = createController(TEST_SIZE, spyLogger);
+    }
+
+    protected Controller createController(int gridSize, Logger logger) {
+        return new ControllerImpl(gridSize, logger);
+    }
+
+    /*
+     * The bytes a mark in the move phase may allocate, on average: it allocates nothing, and 8 bytes absorb
+     * the noise of the measure.
+     */
+    protected long moveAllocationBudget() {
+        return 8;
+    }
+
+    /*
+     * A Logger overriding every default method, so that the measure does not depend on the mock maker:
+     * an inline one instruments the default methods of Logger once any test mocks it.
+     */
+    private static final class SilentLogger implements Logger {
+        @Override
+        public void log(LogLevel level, String message) {
+        }
+
+        @Override
+        public boolean isEnabled(LogLevel level) {
+            return false;
+        }
+
+        @Override
+        public void log(LogLevel level, String template, Object arg) {
+        }
+
+        @Override
+        public void log(LogLevel level, String template, Object arg1, Object arg2) {
+        }
+
+        @Override
+        public void log(LogLevel level, Supplier<String> message) {
+        }
     }
 
     @AfterEach
@@ -58,6 +107,56 @@ class ControllerTest {
             assertEquals(0, controller.getMarkedCells().get(cellToMark));
         }
 
+        @Test
+        @DisplayName("Marking an already marked cell has no effect")
+        void remarkCell() {
+            controller.mark(Cell.of(3, 3));
+            controller.mark(Cell.of(6, 6));
+            long version = controller.changesSince(ChangeSet.NO_VERSION).version();
+            controller.mark(Cell.of(3, 3));
+            assertEquals(Map.of(new Pair<>(3, 3), 0, new Pair<>(6, 6), 1), controller.getMarkedCells());
+            assertEquals(version, controller.changesSince(ChangeSet.NO_VERSION).version());
+            assertFalse(controller.isOver());
+        }
+
+        @Test
+        @DisplayName("Huge grids only take memory for their marked cells, invalid sizes are rejected")
+        void hugeGrid() {
+            var huge = createController(70_000, Logger.none());
+            huge.mark(Cell.of(69_999, 69_999));
+            huge.mark(Cell.of(1, 0));
+            assertEquals(Map.of(new Pair<>(69_999, 69_999), 0, new Pair<>(1, 0), 1), huge.getMarkedCells());
+            assertThrows(IllegalArgumentException.class, () -> createController(0, Logger.none()));
+        }
+
+        @Test
+        @DisplayName("Many cells on one diagonal are all marked")
+        void markDiagonal() {
+            final int cells = 20_000;
+            var large = createController(2 * cells, Logger.none());
+            for (int i = 0; i < cells; i++) {
+                large.mark(Cell.of(2 * i, 2 * i));
+            }
+            var marked = large.getMarkedCells();
+            assertEquals(cells, marked.size());
+            assertEquals(cells - 1, marked.get(new Pair<>(2 * cells - 2, 2 * cells - 2)));
+            assertTrue(large.remainingMoves().isEmpty());
+            large.mark(Cell.of(cells - 1, cells - 1));
+            assertTrue(large.remainingMoves().isPresent());
+            assertEquals(cells, large.getMarkedCells().size());
+        }
+
+        @Test
+        @DisplayName("Marking a packed Cell is the same as marking a Pair")
+        void addPackedCell() {
+            controller.mark(Cell.of(2, 3));
+            controller.mark(new Pair<>(5, 5));
+            assertEquals(0, controller.getMarkedCells().get(new Pair<>(2, 3)));
+            assertEquals(1, controller.getMarkedCells().get(new Pair<>(5, 5)));
+            controller.mark(Cell.of(4, 4));
+            assertTrue(controller.getMarkedCells().containsKey(new Pair<>(3, 2)));
+        }
+
         @Test
         @DisplayName("Logger should be called correctly when mark is called")
         void checkLoggerOnMarkIsCalled() {
@@ -93,6 +192,25 @@ class ControllerTest {
             assertEquals(1, controller.getMarkedCells().size());
         }
 
+        @Test
+        @DisplayName("A cell diagonal to a marked one is adjacent")
+        void markCellDiagonalToAnother() {
+            controller.mark(new Pair<>(3, 3));
+            controller.mark(new Pair<>(5, 5));
+            controller.mark(new Pair<>(4, 4));
+            assertEquals(2, controller.getMarkedCells().size());
+            assertTrue(controller.getMarkedCells().containsKey(new Pair<>(4, 2)));
+            assertTrue(controller.getMarkedCells().containsKey(new Pair<>(6, 4)));
+        }
+
+        @Test
+        @DisplayName("Marking outside the grid is rejected")
+        void markOutsideGrid() {
+            assertThrows(IllegalArgumentException.class, () -> controller.mark(new Pair<>(TEST_SIZE, 0)));
+            assertThrows(IllegalArgumentException.class, () -> controller.mark(new Pair<>(0, -1)));
+            assertTrue(controller.getMarkedCells().isEmpty());
+        }
+
         @Test
         @DisplayName("Move cells up right when in translating status")
         void moveCellsUpRight() {
@@ -104,6 +222,32 @@ class ControllerTest {
             assertTrue(controller.getMarkedCells().containsKey(new Pair<>(4,2)));
         }
 
+        @Test
+        @DisplayName("Every following mark moves all the cells up right again")
+        void moveCellsSeveralTimes() {
+            controller.mark(new Pair<>(1, 6));
+            controller.mark(new Pair<>(4, 7));
+            controller.mark(new Pair<>(2, 6));
+            controller.mark(new Pair<>(0, 0));
+            controller.mark(new Pair<>(7, 7));
+            var marked = controller.getMarkedCells();
+            assertEquals(2, marked.size());
+            assertEquals(0, marked.get(new Pair<>(4, 3)));
+            assertEquals(1, marked.get(new Pair<>(7, 4)));
+            assertFalse(controller.isOver());
+        }
+
+        @Test
+        @DisplayName("Visiting the marked cells gives the same cells as getMarkedCells")
+        void visitMarkedCells() {
+            controller.mark(new Pair<>(1, 6));
+            controller.mark(new Pair<>(4, 7));
+            controller.mark(new Pair<>(2, 6));
+            var visited = new HashMap<Pair<Integer, Integer>, Integer>();
+            controller.forEachMarked((x, y, counter) -> visited.put(new Pair<>(x, y), counter));
+            assertEquals(controller.getMarkedCells(), visited);
+        }
+
         @Test
         @DisplayName("Clicking on an already clicked cells produce no effects")
         void clickOnSameCell() {
@@ -134,6 +278,240 @@ class ControllerTest {
         }
     }
 
+    @Nested
+    class ControllerBatch {
+        @Test
+        @DisplayName("Marking a batch numbers the cells as marking them one at a time")
+        void markBatch() {
+            int marked = controller.markAll(List.of(Cell.of(1, 6), Cell.of(4, 7), Cell.of(6, 2)));
+            assertEquals(3, marked);
+            assertEquals(Map.of(new Pair<>(1, 6), 0, new Pair<>(4, 7), 1, new Pair<>(6, 2), 2),
+                    controller.getMarkedCells());
+        }
+
+        @Test
+        @DisplayName("A batch switches to moving cells at the first adjacent cell")
+        void markBatchUntilMoving() {
+            int marked = controller.markAll(new long[] {Cell.pack(1, 6), Cell.pack(2, 6), Cell.pack(7, 7)});
+            assertEquals(3, marked);
+            assertEquals(Map.of(new Pair<>(3, 4), 0), controller.getMarkedCells());
+        }
+
+        @Test
+        @DisplayName("A batch stops at the mark ending the game")
+        void markBatchUntilGameOver() {
+            var cells = new ArrayList<Cell>();
+            cells.add(Cell.of(5, 2));
+            for (int i = 0; i < 10; i++) {
+                cells.add(Cell.of(4, 3));
+            }
+            assertEquals(4, controller.markAll(cells));
+            assertTrue(controller.isOver());
+            assertThrows(IllegalStateException.class, () -> controller.markAll(List.of(Cell.of(1, 1))));
+        }
+
+        @Test
+        @DisplayName("A batch gives the same game as marking one cell at a time")
+        void markBatchAsSingleMarks() {
+            var single = createController(TEST_SIZE, Logger.none());
+            var cells = List.of(Cell.of(0, 7), Cell.of(3, 3), Cell.of(6, 6), Cell.of(3, 3), Cell.of(1, 6), Cell.of(2, 2));
+            cells.forEach(single::mark);
+            controller.markAll(cells);
+            assertEquals(single.getMarkedCells(), controller.getMarkedCells());
+            assertEquals(single.isOver(), controller.isOver());
+        }
+    }
+
+    @Nested
+    class ControllerBoundingBox {
+        @Test
+        @DisplayName("No bounding box when no cell is marked")
+        void emptyBoundingBox() {
+            assertTrue(controller.boundingBox().isEmpty());
+        }
+
+        @Test
+        @DisplayName("Bounding box contains every marked cell")
+        void boundingBoxOfMarkedCells() {
+            controller.mark(new Pair<>(1, 5));
+            controller.mark(new Pair<>(4, 2));
+            controller.mark(new Pair<>(6, 6));
+            assertEquals(new BoundingBox(1, 2, 6, 6), controller.boundingBox().orElseThrow());
+        }
+
+        @Test
+        @DisplayName("Bounding box follows the cells when they move")
+        void boundingBoxAfterMove() {
+            controller.mark(new Pair<>(1, 5));
+            controller.mark(new Pair<>(4, 2));
+            controller.mark(new Pair<>(4, 3));
+            assertEquals(new BoundingBox(2, 1, 5, 4), controller.boundingBox().orElseThrow());
+        }
+    }
+
+    @Nested
+    class ControllerChanges {
+        @Test
+        @DisplayName("Without a version the change set is full")
+        void fullChangesWithoutVersion() {
+            controller.mark(new Pair<>(1, 1));
+            assertTrue(controller.changesSince(ChangeSet.NO_VERSION).isFull());
+        }
+
+        @Test
+        @DisplayName("Placing cells reports only the cells added since the given version")
+        void addedCellsSinceVersion() {
+            controller.mark(new Pair<>(1, 1));
+            long version = controller.changesSince(ChangeSet.NO_VERSION).version();
+            controller.mark(new Pair<>(4, 4));
+            controller.mark(new Pair<>(6, 1));
+
+            var changes = controller.changesSince(version);
+            var added = new HashMap<Pair<Integer, Integer>, Integer>();
+            changes.forEachAdded((x, y, counter) -> added.put(new Pair<>(x, y), counter));
+            assertFalse(changes.isFull());
+            assertEquals(0, changes.translation());
+            assertEquals(Map.of(new Pair<>(4, 4), 1, new Pair<>(6, 1), 2), added);
+            assertEquals(0, controller.changesSince(changes.version()).addedCount());
+        }
+
+        @Test
+        @DisplayName("Moving cells reports the number of translations since the given version")
+        void translationsSinceVersion() {
+            controller.mark(new Pair<>(1, 6));
+            long version = controller.changesSince(ChangeSet.NO_VERSION).version();
+            controller.mark(new Pair<>(2, 6));
+            controller.mark(new Pair<>(0, 0));
+
+            var changes = controller.changesSince(version);
+            assertFalse(changes.isFull());
+            assertEquals(2, changes.translation());
+            assertEquals(0, changes.addedCount());
+        }
+    }
+
+    @Nested
+    class ControllerPrediction {
+        @Test
+        @DisplayName("Remaining moves are unknown while placing cells")
+        void noPredictionWhilePlacing() {
+            controller.mark(new Pair<>(3, 3));
+            assertTrue(controller.remainingMoves().isEmpty());
+            assertThrows(IllegalStateException.class, () -> controller.advance(1));
+        }
+
+        @Test
+        @DisplayName("Remaining moves match marking until the game is over")
+        void predictRemainingMoves() {
+            controller.mark(new Pair<>(1, 6));
+            controller.mark(new Pair<>(4, 5));
+            controller.mark(new Pair<>(2, 6));
+            int remaining = controller.remainingMoves().orElseThrow();
+            assertEquals(3, remaining);
+            for (int i = 0; i < remaining; i++) {
+                assertFalse(controller.isOver());
+                controller.mark(new Pair<>(0, 0));
+            }
+            assertTrue(controller.isOver());
+            assertEquals(0, controller.remainingMoves().orElseThrow());
+        }
+
+        @Test
+        @DisplayName("By default advancing marks a cell for every move, once the cells are known to be moving")
+        void defaultAdvance() {
+            Controller plain = new Controller() {
+                @Override
+                public void mark(Pair<Integer, Integer> cell) {
+                    controller.mark(cell);
+                }
+
+                @Override
+                public boolean isOver() {
+                    return controller.isOver();
+                }
+
+                @Override
+                public Map<Pair<Integer, Integer>, Integer> getMarkedCells() {
+                    return controller.getMarkedCells();
+                }
+
+                @Override
+                public OptionalInt remainingMoves() {
+                    return controller.remainingMoves();
+                }
+            };
+            Controller blind = new Controller() {
+                @Override
+                public void mark(Pair<Integer, Integer> cell) {
+                    controller.mark(cell);
+                }
+
+                @Override
+                public boolean isOver() {
+                    return controller.isOver();
+                }
+
+                @Override
+                public Map<Pair<Integer, Integer>, Integer> getMarkedCells() {
+                    return controller.getMarkedCells();
+                }
+            };
+            controller.mark(new Pair<>(1, 6));
+            assertThrows(IllegalStateException.class, () -> plain.advance(3));
+            assertEquals(Map.of(new Pair<>(1, 6), 0), controller.getMarkedCells());
+            controller.mark(new Pair<>(2, 6));
+            assertThrows(IllegalStateException.class, () -> blind.advance(1));
+            assertEquals(2, plain.advance(2));
+            assertEquals(0, controller.getMarkedCells().get(new Pair<>(4, 3)));
+            assertEquals(4, plain.advance(100));
+            assertTrue(plain.isOver());
+            assertThrows(IllegalStateException.class, () -> plain.advance(1));
+        }
+
+        @Test
+        @DisplayName("Advancing gives the same cells as marking the same number of times")
+        void advanceAsMarking() {
+            var marking = createController(TEST_SIZE, Logger.none());
+            for (Controller c : List.of(controller, marking)) {
+                c.mark(new Pair<>(1, 6));
+                c.mark(new Pair<>(2, 7));
+            }
+            marking.mark(new Pair<>(0, 0));
+            marking.mark(new Pair<>(0, 0));
+            assertEquals(2, controller.advance(2));
+            assertEquals(marking.getMarkedCells(), controller.getMarkedCells());
+            assertEquals(marking.remainingMoves(), controller.remainingMoves());
+        }
+
+        @Test
+        @DisplayName("Advancing stops at the end of the game")
+        void advanceUntilGameOver() {
+            controller.mark(new Pair<>(1, 6));
+            controller.mark(new Pair<>(2, 6));
+            int remaining = controller.remainingMoves().orElseThrow();
+            assertEquals(remaining, controller.advance(1000));
+            assertTrue(controller.isOver());
+            assertThrows(IllegalStateException.class, () -> controller.advance(1));
+        }
+    }
+
+    @Nested
+    @ExtendWith(AllocationExtension.class)
+    class ControllerAllocation {
+        private static final int LARGE_SIZE = 4096;
+
+        @Test
+        @DisplayName("Marking in the move phase stays within its allocation budget")
+        void moveWithinBudget(AllocationMeter meter) {
+            var large = createController(LARGE_SIZE, new SilentLogger());
+            large.mark(Cell.of(0, LARGE_SIZE - 1));
+            large.mark(Cell.of(1, LARGE_SIZE - 1));
+            var cell = Cell.of(0, 0);
+            meter.assertBudget(moveAllocationBudget(), 2_000, () -> large.mark(cell));
+            assertFalse(large.isOver());
+        }
+    }
+
     @Nested
     class EndGameFinalization {
         @Test
@@ -132,12 +132,7 @@ class ControllerViewIntegrationTest {
 
 
     private JButton getButtonForCell(Pair<Integer, Integer> cell) {
-        for (var entry : gui.getCells().entrySet()) {
-            if (entry.getValue().equals(cell)) {
-                return entry.getKey();
-            }
-        }
-        return null;
+        return gui.getButton(cell).orElse(null);
     }
 
     private static class TestLogger implements Logger {
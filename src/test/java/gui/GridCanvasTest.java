@@ -0,0 +1,85 @@
+package gui;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridCanvasTest {
+
+    private static final int SIZE = 2000;
+    private static final int CELL_SIZE = 10;
+
+    private Controller controller;
+    private GridCanvas canvas;
+    private long version;
+
+    @BeforeEach
+    void setUp() {
+        controller = new BitsetController(SIZE, (level, message) -> {});
+        canvas = new GridCanvas(SIZE, CELL_SIZE);
+        version = ChangeSet.NO_VERSION;
+    }
+
+    private void update() {
+        var changes = controller.changesSince(version);
+        canvas.apply(changes, controller);
+        version = changes.version();
+    }
+
+    @Test
+    @DisplayName("Clicks are mapped to the cell under the pointer")
+    void cellUnderPoint() {
+        assertEquals(Cell.of(0, 0), canvas.cellAt(new Point(0, 0)).orElseThrow());
+        assertEquals(Cell.of(3, 12), canvas.cellAt(new Point(3 * CELL_SIZE + 9, 12 * CELL_SIZE)).orElseThrow());
+        assertTrue(canvas.cellAt(new Point(SIZE * CELL_SIZE, 0)).isEmpty());
+        assertTrue(canvas.cellAt(new Point(-1, 5)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Marked cells are shown with their counter")
+    void showMarkedCells() {
+        controller.mark(Cell.of(10, 10));
+        update();
+        controller.mark(Cell.of(1500, 1999));
+        update();
+        assertEquals(0, canvas.counterAt(10, 10));
+        assertEquals(1, canvas.counterAt(1500, 1999));
+        assertEquals(GridCanvas.EMPTY, canvas.counterAt(11, 10));
+    }
+
+    @Test
+    @DisplayName("Moved cells are shown where they moved")
+    void showMovedCells() {
+        controller.mark(Cell.of(10, 10));
+        update();
+        controller.mark(Cell.of(11, 11));
+        controller.mark(Cell.of(0, 0));
+        update();
+        assertEquals(GridCanvas.EMPTY, canvas.counterAt(10, 10));
+        assertEquals(0, canvas.counterAt(12, 8));
+    }
+
+    @Test
+    @DisplayName("Painting only covers the clipped area")
+    void paintClippedArea() {
+        controller.mark(Cell.of(1, 1));
+        update();
+        final int untouched = Color.MAGENTA.getRGB();
+        var image = new BufferedImage(10 * CELL_SIZE, 10 * CELL_SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.MAGENTA);
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.setClip(0, 0, 3 * CELL_SIZE, 3 * CELL_SIZE);
+        canvas.setSize(canvas.getPreferredSize());
+        canvas.paint(graphics);
+        graphics.dispose();
+        assertEquals(Color.LIGHT_GRAY.getRGB(), image.getRGB(0, 0));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(2 * CELL_SIZE + CELL_SIZE / 2, CELL_SIZE / 2));
+        assertEquals(untouched, image.getRGB(3 * CELL_SIZE + CELL_SIZE / 2, CELL_SIZE / 2));
+        assertEquals(untouched, image.getRGB(CELL_SIZE / 2, 3 * CELL_SIZE + CELL_SIZE / 2));
+    }
+}
@@ -1,6 +1,7 @@
 package gui;
 
 import org.junit.jupiter.api.*;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.junit.jupiter.api.Test;
@@ -15,7 +16,7 @@ class ViewTest {
 
     private static final int SIZE = 3;
 
-    @Mock Controller mockController;
+    @Mock(answer = Answers.CALLS_REAL_METHODS) Controller mockController;
 
     private GUI gui;
     private AutoCloseable mocks;
@@ -99,6 +100,14 @@ class ViewTest {
             Assertions.assertEquals(SIZE * SIZE, gui.getCells().size());
         }
 
+        @Test
+        @DisplayName("Each cell of the grid has its own button")
+        void testButtonLookup() {
+            gui.getCells().forEach((button, cell) ->
+                    Assertions.assertSame(button, gui.getButton(cell).orElseThrow()));
+            Assertions.assertTrue(gui.getButton(new Pair<>(SIZE, 0)).isEmpty());
+        }
+
         @Test
         @DisplayName("start() makes the GUI visible")
         void testStartVisibility() {
@@ -118,11 +127,6 @@ class ViewTest {
      * Returns the JButton associated with a given cell.
      */
     private JButton getButtonForCell(Pair<Integer, Integer> cell) {
-        for (var entry : gui.getCells().entrySet()) {
-            if (entry.getValue().equals(cell)) {
-                return entry.getKey();
-            }
-        }
-        return null;
+        return gui.getButton(cell).orElse(null);
     }
 }
@@ -0,0 +1,138 @@
+package gui.logger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLoggerTest {
+
+    private final List<String> received = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    @DisplayName("Records reach the delegate in order once the logger is closed")
+    void deliverInOrder() {
+        var logger = new AsyncLogger((level, message) -> received.add(level + " " + message), 8, OverflowPolicy.BLOCK);
+        IntStream.range(0, 1000).forEach(i -> logger.log(LogLevel.INFO, "record " + i));
+        logger.close();
+        assertEquals(1000, received.size());
+        assertEquals("INFO record 0", received.get(0));
+        assertEquals("INFO record 999", received.get(999));
+        assertEquals(0, logger.droppedCount());
+    }
+
+    @Test
+    @DisplayName("Records from several threads are all delivered when blocking")
+    void deliverFromManyThreads() throws InterruptedException {
+        var logger = new AsyncLogger((level, message) -> received.add(message), 16, OverflowPolicy.BLOCK);
+        var threads = IntStream.range(0, 4)
+                .mapToObj(t -> new Thread(() -> IntStream.range(0, 500).forEach(i -> logger.log(LogLevel.INFO, t + ":" + i))))
+                .toList();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        logger.close();
+        assertEquals(2000, received.size());
+    }
+
+    @Test
+    @DisplayName("Records are dropped when the buffer is full and the policy is DROP")
+    void dropWhenFull() {
+        var release = new CountDownLatch(1);
+        var logger = new AsyncLogger((level, message) -> {
+            awaitQuietly(release);
+            received.add(message);
+        }, 4, OverflowPolicy.DROP);
+        IntStream.range(0, 100).forEach(i -> logger.log(LogLevel.INFO, "record " + i));
+        release.countDown();
+        logger.close();
+        assertTrue(logger.droppedCount() > 0);
+        assertEquals(100, received.size() + logger.droppedCount());
+    }
+
+    @Test
+    @DisplayName("Records logged after closing are dropped")
+    void dropAfterClose() {
+        var logger = new AsyncLogger((level, message) -> received.add(message));
+        logger.close();
+        logger.log(LogLevel.ERROR, "too late");
+        assertTrue(received.isEmpty());
+        assertEquals(1, logger.droppedCount());
+    }
+
+    @Test
+    @DisplayName("Records are sampled when the buffer is full and the policy is SAMPLE")
+    void sampleWhenFull() throws InterruptedException {
+        var taken = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var logger = new AsyncLogger((level, message) -> {
+            taken.countDown();
+            awaitQuietly(release);
+            received.add(message);
+        }, 2, OverflowPolicy.SAMPLE, 1000);
+        logger.log(LogLevel.INFO, "a");
+        taken.await();
+        logger.log(LogLevel.INFO, "b");
+        logger.log(LogLevel.INFO, "c");
+        var sampled = new Thread(() -> logger.log(LogLevel.INFO, "d"));
+        sampled.start();
+        while (sampled.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+        logger.log(LogLevel.INFO, "e");
+        logger.log(LogLevel.INFO, "f");
+        assertEquals(2, logger.droppedCount());
+        release.countDown();
+        sampled.join();
+        logger.close();
+        assertEquals(List.of("a", "b", "c", "d"), received);
+    }
+
+    @Test
+    @DisplayName("Records racing with close are either delivered or counted as dropped")
+    void logWhileClosing() throws InterruptedException {
+        var logger = new AsyncLogger((level, message) -> received.add(message), 16, OverflowPolicy.BLOCK);
+        var attempted = new AtomicInteger();
+        var threads = IntStream.range(0, 4)
+                .mapToObj(t -> new Thread(() -> IntStream.range(0, 2000).forEach(i -> {
+                    attempted.incrementAndGet();
+                    logger.log(LogLevel.INFO, t + ":" + i);
+                })))
+                .toList();
+        threads.forEach(Thread::start);
+        logger.close();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(attempted.get(), received.size() + logger.droppedCount());
+    }
+
+    @Test
+    @DisplayName("An idle logger parks its background thread")
+    void parkWhenIdle() throws InterruptedException {
+        var logger = new AsyncLogger((level, message) -> received.add(message));
+        logger.log(LogLevel.INFO, "record");
+        while (logger.drainerState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        logger.log(LogLevel.INFO, "wake up");
+        logger.close();
+        assertEquals(List.of("record", "wake up"), received);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package gui.logger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoggerTest {
+
+    private final List<String> received = new ArrayList<>();
+    private final Logger logger = (level, message) -> received.add(level + " " + message);
+
+    @Test
+    @DisplayName("Templates are filled with their arguments")
+    void formatTemplates() {
+        logger.log(LogLevel.INFO, "Marking cell {}", 3);
+        logger.log(LogLevel.ERROR, "From {} to {}", "a", "b");
+        logger.log(LogLevel.DEBUG, "No placeholder", 1);
+        assertEquals(List.of("INFO Marking cell 3", "ERROR From a to b", "DEBUG No placeholder"), received);
+    }
+
+    @Test
+    @DisplayName("Placeholders inside the arguments are not filled")
+    void placeholderInArguments() {
+        logger.log(LogLevel.INFO, "From {} to {}", "{}", "b");
+        logger.log(LogLevel.INFO, "Only {}", "{}", "b");
+        assertEquals(List.of("INFO From {} to b", "INFO Only {}"), received);
+    }
+
+    @Test
+    @DisplayName("Messages below the threshold are neither built nor logged")
+    void skipDisabledLevels() {
+        var filtered = logger.atLeast(LogLevel.INFO);
+        filtered.log(LogLevel.DEBUG, () -> fail("Message built for a disabled level"));
+        filtered.log(LogLevel.TRACE, "Ignored {}", new Object() {
+            @Override
+            public String toString() {
+                return fail("Argument formatted for a disabled level");
+            }
+        });
+        filtered.log(LogLevel.INFO, () -> "kept");
+        assertFalse(filtered.isEnabled(LogLevel.DEBUG));
+        assertTrue(filtered.isEnabled(LogLevel.ERROR));
+        assertEquals(List.of("INFO kept"), received);
+    }
+
+    @Test
+    @DisplayName("The no-op logger disables every level")
+    void noLogger() {
+        var none = Logger.none();
+        for (LogLevel level : LogLevel.values()) {
+            assertFalse(none.isEnabled(level));
+        }
+        none.log(LogLevel.ERROR, () -> fail("Message built for a disabled logger"));
+    }
+}
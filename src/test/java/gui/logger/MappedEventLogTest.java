@@ -0,0 +1,89 @@
+package gui.logger;
+
+import gui.ControllerImpl;
+import gui.Pair;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedEventLogTest {
+
+    @TempDir Path directory;
+
+    @Test
+    @DisplayName("Recorded events are read back in order")
+    void writeAndRead() throws IOException {
+        try (var log = new MappedEventLog(directory, 16)) {
+            log.record(LogLevel.INFO, EventType.MARK, 1, 2, 0);
+            log.record(LogLevel.ERROR, EventType.REJECTED, -3, 4, -1);
+        }
+        var events = EventLogReader.readAll(directory);
+        assertEquals(2, events.size());
+        assertEquals(new GameEvent(events.get(0).timestamp(), LogLevel.INFO, EventType.MARK, 1, 2, 0), events.get(0));
+        assertEquals(new GameEvent(events.get(1).timestamp(), LogLevel.ERROR, EventType.REJECTED, -3, 4, -1), events.get(1));
+        assertTrue(events.get(0).timestamp() <= events.get(1).timestamp());
+    }
+
+    @Test
+    @DisplayName("The log rolls over to a new file when the current one is full")
+    void rollOver() throws IOException {
+        try (var log = new MappedEventLog(directory, 4)) {
+            for (int i = 0; i < 10; i++) {
+                log.record(LogLevel.INFO, EventType.MARK, i, i, i);
+            }
+        }
+        try (var files = Files.list(directory)) {
+            assertEquals(3, files.count());
+        }
+        var events = EventLogReader.readAll(directory);
+        assertEquals(10, events.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, events.get(i).counter());
+        }
+    }
+
+    @Test
+    @DisplayName("Reopening a log continues after its last file, even when older ones were deleted")
+    void reopenAfterRetention() throws IOException {
+        try (var log = new MappedEventLog(directory, 2)) {
+            for (int i = 0; i < 4; i++) {
+                log.record(LogLevel.INFO, EventType.MARK, i, i, i);
+            }
+        }
+        Files.delete(MappedEventLog.fileName(directory, 0));
+        try (var log = new MappedEventLog(directory, 2)) {
+            log.record(LogLevel.INFO, EventType.MOVE, 0, 0, 4);
+        }
+        assertTrue(Files.exists(MappedEventLog.fileName(directory, 2)));
+        var events = EventLogReader.readAll(directory);
+        assertEquals(List.of(2, 3, 4), events.stream().map(GameEvent::counter).toList());
+    }
+
+    @Test
+    @DisplayName("A controller records its marks, moves and the end of the game")
+    void recordGame() throws IOException {
+        try (var log = new MappedEventLog(directory, 1024)) {
+            var controller = new ControllerImpl(8, Logger.none(), log);
+            controller.mark(new Pair<>(0, 0));
+            controller.mark(new Pair<>(0, 1));
+            assertThrows(IllegalStateException.class, () -> controller.mark(new Pair<>(5, 5)));
+        }
+        var types = EventLogReader.readAll(directory).stream().map(GameEvent::type).toList();
+        assertEquals(List.of(EventType.MARK, EventType.MOVE, EventType.GAME_OVER, EventType.REJECTED), types);
+    }
+
+    @Test
+    @DisplayName("Recording on a closed log is an error")
+    void recordAfterClose() throws IOException {
+        var log = new MappedEventLog(directory, 4);
+        log.close();
+        assertThrows(IllegalStateException.class, () -> log.record(LogLevel.INFO, EventType.MARK, 0, 0, 0));
+    }
+}
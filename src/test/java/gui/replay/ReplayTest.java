@@ -0,0 +1,95 @@
+package gui.replay;
+
+import gui.*;
+import gui.logger.Logger;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayTest {
+
+    private static final int SIZE = 8;
+
+    private RecordingController recorder;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new RecordingController(SIZE, new ControllerImpl(SIZE, Logger.none()));
+        recorder.mark(new Pair<>(1, 6));
+        recorder.mark(Cell.of(4, 7));
+        recorder.mark(new Pair<>(2, 6));
+    }
+
+    @Test
+    @DisplayName("Every mark is recorded with the size of the grid")
+    void recordMarks() {
+        var recording = recorder.recording();
+        assertEquals(SIZE, recording.gridSize());
+        assertEquals(3, recording.size());
+        assertEquals(Cell.pack(4, 7), recording.clickAt(1));
+    }
+
+    @Test
+    @DisplayName("A recording survives a round trip through a file")
+    void writeAndRead(@TempDir Path directory) throws IOException {
+        var file = directory.resolve("game.rec");
+        recorder.recording().write(file);
+        assertEquals(recorder.recording(), Recording.read(file));
+    }
+
+    @Test
+    @DisplayName("Replaying a recording rebuilds the same game")
+    void replaySameGame() {
+        var replayed = new BitsetController(SIZE, Logger.none());
+        var result = ReplayEngine.replay(recorder.recording(), replayed);
+        assertEquals(3, result.marked());
+        assertEquals(0, result.rejected());
+        assertEquals(recorder.getMarkedCells(), replayed.getMarkedCells());
+    }
+
+    @Test
+    @DisplayName("Advancing is recorded as clicks, and replays to the same game")
+    void recordAdvance() {
+        assertEquals(1, recorder.advance(1));
+        assertEquals(4, recorder.recording().size());
+        var replayed = new BitsetController(SIZE, Logger.none());
+        ReplayEngine.replay(recorder.recording(), replayed);
+        assertEquals(recorder.getMarkedCells(), replayed.getMarkedCells());
+
+        var placing = new RecordingController(SIZE, new ControllerImpl(SIZE, Logger.none()));
+        assertThrows(IllegalStateException.class, () -> placing.advance(1));
+        assertEquals(0, placing.recording().size());
+    }
+
+    @Test
+    @DisplayName("Clicks after the end of the game are counted as rejected")
+    void replayRejectedClicks() {
+        var ending = new RecordingController(SIZE, new ControllerImpl(SIZE, Logger.none()));
+        ending.mark(new Pair<>(0, 0));
+        ending.mark(new Pair<>(0, 1));
+        assertThrows(IllegalStateException.class, () -> ending.mark(new Pair<>(3, 3)));
+
+        var result = ReplayEngine.replay(ending.recording(), size -> new ControllerImpl(size, Logger.none()));
+        assertEquals(2, result.marked());
+        assertEquals(1, result.rejected());
+        assertTrue(result.over());
+    }
+
+    @Test
+    @DisplayName("Implementations are compared on the same recording")
+    void compareImplementations() {
+        Map<String, IntFunction<? extends Controller>> implementations = Map.of(
+                "map", size -> new ControllerImpl(size, Logger.none()),
+                "bitset", size -> new BitsetController(size, Logger.none()));
+        var results = ReplayEngine.compare(recorder.recording(), implementations, 2);
+        assertEquals(implementations.keySet(), results.keySet());
+        results.values().forEach(result -> assertEquals(3, result.marked()));
+    }
+}
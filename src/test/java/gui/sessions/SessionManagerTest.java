@@ -0,0 +1,160 @@
+package gui.sessions;
+
+import gui.BitsetController;
+import gui.Cell;
+import gui.Pair;
+import gui.logger.Logger;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionManagerTest {
+
+    private static final int SIZE = 8;
+
+    private SessionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = new SessionManager(size -> new BitsetController(size, Logger.none()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    @Test
+    @DisplayName("Each session plays its own game")
+    void independentSessions() {
+        var first = manager.open(SIZE);
+        var second = manager.open(SIZE);
+        first.submit(Cell.of(1, 1));
+        second.submit(Cell.of(5, 5));
+        second.submit(Cell.of(2, 2));
+        first.close();
+        second.close();
+
+        assertEquals(1, first.controller().getMarkedCells().size());
+        assertEquals(0, first.controller().getMarkedCells().get(new Pair<>(1, 1)));
+        assertEquals(2, second.controller().getMarkedCells().size());
+        assertEquals(2, second.stats().processed());
+    }
+
+    @Test
+    @DisplayName("Marks after the end of the game are counted as rejected")
+    void rejectedMarks() {
+        var session = manager.open(SIZE);
+        session.submit(Cell.of(0, 0));
+        session.submit(Cell.of(0, 1));
+        session.submit(Cell.of(4, 4));
+        session.close();
+
+        assertTrue(session.controller().isOver());
+        assertEquals(2, session.stats().processed());
+        assertEquals(1, session.stats().rejected());
+        assertFalse(session.submit(Cell.of(1, 1)));
+    }
+
+    @Test
+    @DisplayName("Thousands of sessions run at the same time")
+    void manySessions() {
+        List<Session> sessions = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            sessions.add(manager.open(SIZE));
+        }
+        sessions.forEach(session -> {
+            session.submit(Cell.of(1, 1));
+            session.submit(Cell.of(4, 4));
+        });
+        manager.close();
+
+        var aggregate = manager.aggregate();
+        assertEquals(0, manager.size());
+        assertEquals(4000, aggregate.processed());
+        assertEquals(SessionStats.AGGREGATE, aggregate.sessionId());
+        assertTrue(aggregate.maxLatencyNanos() >= aggregate.meanLatencyNanos());
+    }
+
+    @Test
+    @DisplayName("Sessions run on the executor given to the manager")
+    void givenExecutor() {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try (var pooled = new SessionManager(size -> new BitsetController(size, Logger.none()), executor)) {
+            var session = pooled.open(SIZE);
+            session.submit(Cell.of(3, 3));
+            session.close();
+            assertEquals(1, session.stats().processed());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Idle sessions hold no thread, so a small pool runs many of them")
+    void smallPool() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (var pooled = new SessionManager(size -> new BitsetController(size, Logger.none()), executor)) {
+            List<Session> sessions = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                sessions.add(pooled.open(SIZE));
+            }
+            sessions.forEach(session -> session.submit(Cell.of(2, 2)));
+            sessions.forEach(session -> session.submit(Cell.of(5, 5)));
+            pooled.close();
+            assertEquals(1000, pooled.aggregate().processed());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Closed sessions are forgotten, but still counted in the aggregate")
+    void forgetClosedSessions() {
+        var closed = manager.open(SIZE);
+        var open = manager.open(SIZE);
+        closed.submit(Cell.of(1, 1));
+        open.submit(Cell.of(3, 3));
+        closed.close();
+
+        assertTrue(manager.session(closed.id()).isEmpty());
+        assertEquals(open, manager.session(open.id()).orElseThrow());
+        assertEquals(1, manager.size());
+        assertEquals(List.of(open.id()), manager.stats().stream().map(SessionStats::sessionId).toList());
+        open.close();
+        assertEquals(2, manager.aggregate().processed());
+    }
+
+    @Test
+    @DisplayName("Every accepted mark is processed, even when the session is closed meanwhile")
+    void submitWhileClosing() throws InterruptedException {
+        var session = manager.open(1_000);
+        AtomicLong accepted = new AtomicLong();
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int column = 2 * t;
+            Thread submitter = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (session.submit(Cell.of(column, i % 1_000))) {
+                        accepted.incrementAndGet();
+                    }
+                }
+            });
+            submitter.start();
+            submitters.add(submitter);
+        }
+        session.close();
+        for (Thread submitter : submitters) {
+            submitter.join();
+        }
+        var stats = session.stats();
+        assertEquals(accepted.get(), stats.processed() + stats.rejected());
+    }
+}